@@ -0,0 +1,65 @@
+package ait.de.benchmarks;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import com.github.javafaker.Faker;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates reproducible booking histories for the benchmarks.
+ * <p>
+ * Every table gets five non-overlapping two-hour slots per day between 10:00 and 20:00,
+ * filled day after day, so any booking count and table count is valid without conflicts.
+ */
+final class BenchmarkData {
+    static final LocalDateTime FIRST_DAY = LocalDateTime.of(2020, 1, 1, 0, 0);
+    static final int SLOTS_PER_DAY = 5;
+    private static final int NAME_POOL_SIZE = 1_000; // Real histories repeat customers, and faker is slow
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return Customer names generated by javafaker with a fixed seed.
+     */
+    static String[] customerNames() {
+        Faker faker = new Faker(Locale.ENGLISH, new Random(42));
+        String[] names = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = faker.name().fullName();
+        }
+        return names;
+    }
+
+    /**
+     * @return {@code count} bookings spread over {@code tables} tables.
+     */
+    static List<Booking> bookings(int count, int tables) {
+        String[] names = customerNames();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = slotStart(i / tables);
+            bookings.add(new Booking(i % tables + 1, start, start.plusHours(2), names[i % names.length], BookingStatus.CONFIRMED));
+        }
+        return bookings;
+    }
+
+    /**
+     * @return Number of days covered by {@code count} bookings over {@code tables} tables.
+     */
+    static int days(int count, int tables) {
+        return (count / tables) / SLOTS_PER_DAY + 1;
+    }
+
+    /**
+     * @return Start time of the given slot, counted from {@link #FIRST_DAY}.
+     */
+    static LocalDateTime slotStart(int slot) {
+        return FIRST_DAY.plusDays(slot / SLOTS_PER_DAY).plusHours(10 + 2L * (slot % SLOTS_PER_DAY));
+    }
+}
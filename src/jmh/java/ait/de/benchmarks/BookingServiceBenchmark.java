@@ -0,0 +1,140 @@
+package ait.de.benchmarks;
+
+import ait.de.core.BookingResult;
+import ait.de.core.BookingService;
+import ait.de.dao.BookingJournal;
+import ait.de.dao.BookingPersistence;
+import ait.de.dao.InMemoryStorage;
+import ait.de.exceptions.BookingException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link BookingService#createBooking(Booking)}, {@link BookingService#tryCreateBooking(Booking)}
+ * and {@link BookingService#cancelBooking(int)} including persistence. The service only accepts tables 1 to 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class BookingServiceBenchmark {
+    private static final int TABLES = 10;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int bookings;
+
+    /**
+     * {@code none} measures the service alone, {@code journal} adds a synchronous journal append per mutation.
+     */
+    @Param({"none", "journal"})
+    private String persistence;
+
+    private BookingService service;
+    private Path directory;
+    private int days;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        InMemoryStorage storage = new InMemoryStorage();
+        BenchmarkData.bookings(bookings, TABLES).forEach(storage::addBooking);
+        days = BenchmarkData.days(bookings, TABLES);
+        directory = Files.createTempDirectory("booking-benchmark");
+        BookingPersistence bookingPersistence = "journal".equals(persistence)
+                ? new BookingJournal(directory.resolve("bookings.journal"))
+                : new NoPersistence();
+        service = new BookingService(storage, bookingPersistence);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public boolean createAndCancel() throws BookingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = BenchmarkData.slotStart((days + random.nextInt(365)) * BenchmarkData.SLOTS_PER_DAY
+                + random.nextInt(BenchmarkData.SLOTS_PER_DAY));
+        Booking booking = new Booking(random.nextInt(TABLES) + 1, start, start.plusHours(2), "Benchmark Guest", BookingStatus.CONFIRMED);
+        service.createBooking(booking);
+        return service.cancelBooking(booking.getId());
+    }
+
+    /**
+     * Rejected attempt through the throwing API: builds an exception with a stack trace and logs a warning.
+     */
+    @Benchmark
+    public Object conflictThrowing() {
+        try {
+            service.createBooking(conflictingBooking());
+            return null;
+        } catch (BookingException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Rejected attempt through the result API.
+     */
+    @Benchmark
+    public BookingResult conflictResult() {
+        return service.tryCreateBooking(conflictingBooking());
+    }
+
+    /**
+     * A booking on a slot that is taken on every table.
+     */
+    private Booking conflictingBooking() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = BenchmarkData.slotStart(random.nextInt(bookings / TABLES));
+        return new Booking(random.nextInt(TABLES) + 1, start, start.plusHours(2), "Benchmark Guest", BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * Persistence that keeps nothing, to measure the service without I/O.
+     */
+    private static class NoPersistence implements BookingPersistence {
+        @Override
+        public List<Booking> load() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingCanceled(Booking booking) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ait.de.benchmarks;
+
+import ait.de.dao.BinaryFileStorage;
+import ait.de.dao.FileStorage;
+import ait.de.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of saving and loading whole booking files, in CSV and in the binary format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SingleShotTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class FileStorageBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int bookings;
+
+    @Param({"10", "100"})
+    private int tables;
+
+    private List<Booking> data;
+    private Path directory;
+    private Path csvFile;
+    private Path binaryFile;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = BenchmarkData.bookings(bookings, tables);
+        directory = Files.createTempDirectory("booking-benchmark");
+        csvFile = directory.resolve("bookings.csv");
+        binaryFile = directory.resolve("bookings.bin");
+        target = directory.resolve("saved.csv");
+        FileStorage.saveToFile(data, csvFile);
+        BinaryFileStorage.saveToFile(data, binaryFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (Path file : List.of(csvFile, binaryFile, target)) {
+            Files.deleteIfExists(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void saveToFile() {
+        FileStorage.saveToFile(data, target);
+    }
+
+    @Benchmark
+    public List<Booking> loadFromFile() {
+        return FileStorage.loadFromFile(csvFile);
+    }
+
+    @Benchmark
+    public List<Booking> loadFromBinaryFile() {
+        return BinaryFileStorage.loadFromFile(binaryFile);
+    }
+}
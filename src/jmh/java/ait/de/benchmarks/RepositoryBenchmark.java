@@ -0,0 +1,97 @@
+package ait.de.benchmarks;
+
+import ait.de.dao.BookingRepository;
+import ait.de.dao.InMemoryStorage;
+import ait.de.dao.PackedStorage;
+import ait.de.dao.SnapshotStorage;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the in-memory repositories: conflict checks, lookups and create/cancel pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class RepositoryBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int bookings;
+
+    @Param({"10", "100"})
+    private int tables;
+
+    @Param({"memory", "packed", "snapshot"})
+    private String repository;
+
+    private BookingRepository storage;
+    private int days;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storage = switch (repository) {
+            case "packed" -> new PackedStorage();
+            case "snapshot" -> new SnapshotStorage();
+            default -> new InMemoryStorage();
+        };
+        BenchmarkData.bookings(bookings, tables).forEach(storage::addBooking);
+        days = BenchmarkData.days(bookings, tables);
+    }
+
+    @Benchmark
+    public boolean hasConflict() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = BenchmarkData.slotStart(random.nextInt(days * BenchmarkData.SLOTS_PER_DAY)).plusHours(1);
+        return storage.hasConflict(random.nextInt(tables) + 1, start, start.plusHours(2));
+    }
+
+    @Benchmark
+    public Object getBookingById() {
+        return storage.getBookingById(ThreadLocalRandom.current().nextInt(bookings) + 1);
+    }
+
+    @Benchmark
+    public boolean createAndCancel() {
+        return createAndCancelOnFreeDay();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean createAndCancelContended() {
+        return createAndCancelOnFreeDay();
+    }
+
+    /**
+     * Books a slot after the generated history and cancels it again, so the repository size stays constant.
+     */
+    private boolean createAndCancelOnFreeDay() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = BenchmarkData.slotStart((days + random.nextInt(365)) * BenchmarkData.SLOTS_PER_DAY
+                + random.nextInt(BenchmarkData.SLOTS_PER_DAY));
+        Booking booking = new Booking(random.nextInt(tables) + 1, start, start.plusHours(2), "Benchmark Guest", BookingStatus.CONFIRMED);
+        boolean added = storage.tryAddBooking(booking);
+        if (added) {
+            storage.removeBooking(booking.getId());
+        }
+        return added;
+    }
+}
@@ -0,0 +1,64 @@
+package ait.de.app;
+
+import ait.de.dao.BinaryFileStorage;
+import ait.de.dao.FileStorage;
+import ait.de.model.Booking;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command-line tool that converts booking files between the CSV and the binary format.
+ * <p>
+ * Usage: {@code BookingFileConverter csv2bin <bookings.csv> <bookings.bin>}
+ * or {@code BookingFileConverter bin2csv <bookings.bin> <bookings.csv>}
+ */
+@Slf4j
+public class BookingFileConverter {
+
+    /**
+     * Converts a CSV booking file into the binary format.
+     * Lines with a leading ID keep it; other lines get new IDs.
+     *
+     * @return Number of converted bookings.
+     */
+    public static int csvToBinary(Path csvFile, Path binaryFile) {
+        List<Booking> bookings = FileStorage.loadFromFile(csvFile);
+        BinaryFileStorage.saveToFile(bookings, binaryFile);
+        return bookings.size();
+    }
+
+    /**
+     * Converts a binary booking file into the CSV format.
+     * Each line starts with the booking ID, so converting back to binary keeps the IDs.
+     *
+     * @return Number of converted bookings.
+     */
+    public static int binaryToCsv(Path binaryFile, Path csvFile) {
+        List<Booking> bookings = BinaryFileStorage.loadFromFile(binaryFile);
+        FileStorage.saveToFileWithIds(bookings.stream(), csvFile);
+        return bookings.size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: BookingFileConverter csv2bin|bin2csv <source> <target>");
+            return;
+        }
+        Path source = Paths.get(args[1]);
+        Path target = Paths.get(args[2]);
+        int count;
+        switch (args[0]) {
+            case "csv2bin" -> count = csvToBinary(source, target);
+            case "bin2csv" -> count = binaryToCsv(source, target);
+            default -> {
+                System.out.println("Unknown direction: " + args[0]);
+                return;
+            }
+        }
+        System.out.println("Converted " + count + " bookings from " + source + " to " + target + ".");
+        log.info("Converted {} bookings from {} to {}", count, source, target);
+    }
+}
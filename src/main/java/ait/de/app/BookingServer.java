@@ -0,0 +1,23 @@
+package ait.de.app;
+
+import ait.de.core.BookingService;
+import ait.de.web.BookingHttpServer;
+
+import java.io.IOException;
+
+/**
+ * Runs the HTTP/JSON API on {@code localhost:-Dbooking.http.port} (default 8080) instead of the console.
+ * The booking service is configured by the same system properties as {@link ConsoleUI}.
+ */
+public class BookingServer {
+
+    public static void main(String[] args) throws IOException {
+        BookingService bookingService = ConsoleUI.createService();
+        BookingHttpServer server = new BookingHttpServer(bookingService, Integer.getInteger("booking.http.port", 8080));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            bookingService.close();
+        }, "booking-server-shutdown"));
+        server.start();
+    }
+}
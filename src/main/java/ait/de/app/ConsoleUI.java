@@ -1,19 +1,44 @@
 package ait.de.app;
 
+import ait.de.core.BookingResult;
 import ait.de.core.BookingService;
+import ait.de.core.ImportReport;
+import ait.de.core.RestaurantRouter;
+import ait.de.core.TableCatalog;
+import ait.de.dao.BookingJournal;
+import ait.de.dao.BookingPersistence;
 import ait.de.dao.BookingRepository;
+import ait.de.dao.CsvFilePersistence;
 import ait.de.dao.FileStorage;
 import ait.de.dao.InMemoryStorage;
+import ait.de.dao.PackedStorage;
+import ait.de.dao.PartitionedFilePersistence;
+import ait.de.dao.SnapshotStorage;
+import ait.de.dao.TableCatalogLoader;
 import ait.de.exceptions.BookingConflictException;
 import ait.de.exceptions.BookingException;
+import ait.de.metrics.MetricsRegistry;
 import ait.de.model.Booking;
+import ait.de.model.TimeSlot;
+import ait.de.utilities.BookingOutcome;
 import ait.de.utilities.BookingStatus;
+import ait.de.utilities.DurabilityMode;
+import ait.de.utilities.StartupMode;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -22,14 +47,33 @@ import java.util.Scanner;
 @Slf4j
 public class ConsoleUI {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final int PAGE_SIZE = 20;
+    private static final int CHECKPOINT_RECORDS = 10_000; // Journal records between two snapshots
     private final BookingService bookingService;
+    private final RestaurantRouter router; // null when running a single restaurant
+    private final Path bookingFile; // File for saving and loading; null for the default FileStorage file
     private final Scanner sc;
 
     public ConsoleUI(BookingService bookingService) {
         this.bookingService = bookingService;
+        this.router = null;
+        this.bookingFile = null;
         this.sc = new Scanner(System.in);
     }
 
+    /**
+     * Asks which restaurant to manage; exiting closes all restaurants of the router.
+     * Saving and loading use the {@code bookings.csv} in the chosen restaurant's directory.
+     */
+    public ConsoleUI(RestaurantRouter router) {
+        this.router = router;
+        this.sc = new Scanner(System.in);
+        String restaurantId = chooseRestaurant();
+        this.bookingService = router.restaurant(restaurantId);
+        this.bookingFile = FileStorage.restaurantDirectory(restaurantId).resolve("bookings.csv");
+    }
+
     /**
      * Displays the main menu and handles user input.
      */
@@ -42,7 +86,10 @@ public class ConsoleUI {
             System.out.println("3. Cancel a booking");
             System.out.println("4. Save bookings to a file");
             System.out.println("5. Load bookings from a file");
-            System.out.println("6. Exit");
+            System.out.println("6. Find free time slots");
+            System.out.println("7. View bookings of a day");
+            System.out.println("8. Book the best table for a party");
+            System.out.println("9. Exit");
             System.out.println("===============================");
             System.out.print("Choose an option: ");
 
@@ -54,8 +101,16 @@ public class ConsoleUI {
                 case 3 -> cancelBooking();
                 case 4 -> saveBookings();
                 case 5 -> loadBookings();
-                case 6 -> {
+                case 6 -> findFreeSlots();
+                case 7 -> viewBookingsForDate();
+                case 8 -> assignTable();
+                case 9 -> {
                     run = false;
+                    if (router != null) {
+                        router.close();
+                    } else {
+                        bookingService.close();
+                    }
                     System.out.println("Exiting the program.");
                     log.warn("Exiting the program.");
                 }
@@ -68,6 +123,18 @@ public class ConsoleUI {
         sc.close();
     }
 
+    private String chooseRestaurant() {
+        System.out.println("Restaurants: " + String.join(", ", router.getRestaurantIds()));
+        while (true) {
+            System.out.print("Choose a restaurant: ");
+            String restaurantId = sc.nextLine().trim();
+            if (router.findRestaurant(restaurantId).isPresent()) {
+                return restaurantId;
+            }
+            System.out.println("Unknown restaurant. Please try again.");
+        }
+    }
+
     private byte inputChoice() {
         while (true) {
             try {
@@ -83,12 +150,12 @@ public class ConsoleUI {
      */
     private void createBooking() {
         try {
-            System.out.print("Enter Table ID (1-10): ");
+            System.out.print("Enter Table ID (" + bookingService.getTableCatalog().getIdRange() + "): ");
             int tableId = Integer.parseInt(sc.nextLine());
 
-            // Check if tableId is within the allowed range (1-10)
-            if (tableId < 1 || tableId > 10) {
-                System.out.println("Error: Invalid table number. Please enter a number between 1 and 10.");
+            // Check if the venue has this table
+            if (!bookingService.getTableCatalog().contains(tableId)) {
+                System.out.println("Error: " + bookingService.getTableCatalog().getInvalidTableMessage());
                 return;
             }
 
@@ -109,7 +176,7 @@ public class ConsoleUI {
             System.out.println("Invalid input. Please enter numeric values where required.");
         } catch (BookingConflictException e) {
             System.out.println("Error: " + e.getMessage());
-        } catch (BookingException e) {
+        } catch (BookingException | IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("Invalid format. Please use dd.MM.yyyy HH:mm.");
@@ -117,14 +184,124 @@ public class ConsoleUI {
     }
 
     /**
-     * Displays all bookings.
+     * Books the smallest free table that seats a party.
+     */
+    private void assignTable() {
+        try {
+            System.out.print("Enter Number of Guests: ");
+            int partySize = Integer.parseInt(sc.nextLine());
+
+            System.out.print("VIP table? (y/n): ");
+            boolean vip = sc.nextLine().trim().equalsIgnoreCase("y");
+
+            System.out.print("Enter Start Time (dd.MM.yyyy HH:mm): ");
+            LocalDateTime startTime = LocalDateTime.parse(sc.nextLine(), FORMATTER);
+
+            System.out.print("Enter End Time (dd.MM.yyyy HH:mm): ");
+            LocalDateTime endTime = LocalDateTime.parse(sc.nextLine(), FORMATTER);
+
+            System.out.print("Enter Customer Name: ");
+            String customerName = sc.nextLine();
+
+            BookingResult result = bookingService.tryAssignBooking(partySize, startTime, endTime, customerName, vip);
+            if (result.isCreated()) {
+                System.out.println("Table " + result.getTableId() + " booked, booking ID " + result.getBookingId() + ".");
+            } else {
+                System.out.println("Error: " + result.getMessage());
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input. Please enter a numeric number of guests.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid format. Please use dd.MM.yyyy HH:mm.");
+        }
+    }
+
+    /**
+     * Displays all bookings page by page.
      */
     private void viewBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        if (bookings.isEmpty()) {
+        reportHistoryLoading();
+        List<Booking> page = bookingService.getBookingsPage(0, PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("No bookings found.");
-        } else {
-            bookings.forEach(System.out::println);
+            return;
+        }
+        while (true) {
+            page.forEach(System.out::println);
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+            List<Booking> next = bookingService.getBookingsPage(page.get(page.size() - 1).getId(), PAGE_SIZE);
+            if (next.isEmpty()) {
+                return;
+            }
+            System.out.print("Press Enter for more bookings or type q to stop: ");
+            if (sc.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            page = next;
+        }
+    }
+
+    /**
+     * Tells the user that the next answer waits for past bookings still loading in the background.
+     */
+    private void reportHistoryLoading() {
+        if (!bookingService.isHistoryLoaded()) {
+            System.out.println("Past bookings are still loading, please wait...");
+        }
+    }
+
+    /**
+     * Displays the bookings of all tables on a given day.
+     */
+    private void viewBookingsForDate() {
+        try {
+            System.out.print("Enter Date (dd.MM.yyyy): ");
+            LocalDate date = LocalDate.parse(sc.nextLine(), DATE_FORMATTER);
+            if (date.isBefore(LocalDate.now())) {
+                reportHistoryLoading();
+            }
+
+            List<Booking> bookings = bookingService.getBookingsForDate(date);
+            if (bookings.isEmpty()) {
+                System.out.println("No bookings found.");
+            } else {
+                bookings.forEach(System.out::println);
+            }
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid format. Please use dd.MM.yyyy.");
+        }
+    }
+
+    /**
+     * Displays the free time slots of a table on a given day.
+     */
+    private void findFreeSlots() {
+        try {
+            System.out.print("Enter Table ID (" + bookingService.getTableCatalog().getIdRange() + "): ");
+            int tableId = Integer.parseInt(sc.nextLine());
+
+            System.out.print("Enter Date (dd.MM.yyyy): ");
+            LocalDate date = LocalDate.parse(sc.nextLine(), DATE_FORMATTER);
+
+            System.out.print("Enter Minimum Duration in Minutes: ");
+            Duration minDuration = Duration.ofMinutes(Integer.parseInt(sc.nextLine()));
+
+            List<TimeSlot> slots = bookingService.findFreeSlots(tableId, date, minDuration);
+            if (slots.isEmpty()) {
+                System.out.println("No free time slots found.");
+            } else {
+                slots.forEach(System.out::println);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input. Please enter numeric values where required.");
+        } catch (BookingException e) {
+            System.out.println("Error: " + e.getMessage());
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid format. Please use dd.MM.yyyy.");
         }
     }
 
@@ -151,7 +328,11 @@ public class ConsoleUI {
      * Saves bookings to a file.
      */
     private void saveBookings() {
-        FileStorage.saveToFile(bookingService.getAllBookings());
+        if (bookingFile == null) {
+            FileStorage.saveToFile(bookingService.streamBookings());
+        } else {
+            FileStorage.saveToFile(bookingService.streamBookings(), bookingFile);
+        }
         System.out.println("Bookings successfully saved to file.");
     }
 
@@ -159,26 +340,23 @@ public class ConsoleUI {
      * Loads bookings from a file.
      */
     private void loadBookings() {
-        List<Booking> loadedBookings = FileStorage.loadFromFile();
+        List<Booking> loadedBookings = bookingFile == null ? FileStorage.loadFromFile() : FileStorage.loadFromFile(bookingFile);
 
         if (loadedBookings.isEmpty()) {
             System.out.println("No bookings found in the file. You can create new bookings.");
             return;
         }
-        int skippedCount = 0;
-
-        for (Booking booking : loadedBookings) {
-            try {
-                bookingService.createBooking(booking);
-            } catch (BookingConflictException e) {
-                System.out.println("Skipping conflicting booking: " + booking);
-                skippedCount++;
-            } catch (BookingException e) {
-                System.out.println("Error loading booking: " + e.getMessage());
+        ImportReport report = bookingService.createBookings(loadedBookings);
+        for (ImportReport.Item item : report.getItems()) {
+            if (item.getOutcome() == BookingOutcome.CONFLICT) {
+                System.out.println("Skipping conflicting booking: " + item.getBooking());
+            } else if (item.getOutcome() != BookingOutcome.CREATED) {
+                System.out.println("Error loading booking: " + item.getMessage());
             }
         }
 
         System.out.println("Bookings successfully loaded from file.");
+        int skippedCount = report.count(BookingOutcome.CONFLICT);
         if (skippedCount > 0) {
             System.out.println("Skipped " + skippedCount + " conflicting bookings.");
         }
@@ -186,11 +364,109 @@ public class ConsoleUI {
 
     /**
      * Main method to run the console UI.
+     * With {@code -Dbooking.restaurants=<id>,<id>...} every restaurant gets its own service and files in
+     * {@code restaurants/<id>}, and the console asks which one to manage.
      */
     public static void main(String[] args) {
-        BookingRepository repository = new InMemoryStorage();
-        BookingService bookingService = new BookingService(repository);
-        ConsoleUI consoleUI = new ConsoleUI(bookingService);
+        String restaurants = System.getProperty("booking.restaurants");
+        ConsoleUI consoleUI = restaurants == null
+                ? new ConsoleUI(createService())
+                : new ConsoleUI(createRouter(restaurants.split(",")));
         consoleUI.showMenu();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a router with one shard per restaurant, each configured by the same system properties as
+     * {@link #createService()} and storing its files in the restaurant's own directory.
+     */
+    static RestaurantRouter createRouter(String... restaurantIds) {
+        Map<String, BookingService> restaurants = new LinkedHashMap<>();
+        for (String restaurantId : restaurantIds) {
+            String id = restaurantId.trim();
+            if (!id.isEmpty()) {
+                restaurants.put(id, createService(FileStorage.restaurantDirectory(id)));
+            }
+        }
+        return new RestaurantRouter(restaurants);
+    }
+
+    /**
+     * Creates the booking service configured by system properties.
+     * Start with {@code -Dbooking.persistence=journal} to append mutations to a journal
+     * instead of rewriting the CSV file after every change, and with
+     * {@code -Dbooking.durability=GROUP_COMMIT} (or {@code ASYNC}) to batch journal writes.
+     * The journal is compacted into a snapshot every {@value #CHECKPOINT_RECORDS} records.
+     * With {@code -Dbooking.persistence=partitioned} bookings are stored in monthly files
+     * and past months are archived.
+     * With {@code -Dbooking.startup=WARM_UP} the menu opens once today's and future bookings
+     * are loaded, and past bookings follow in the background.
+     * {@code -Dbooking.repository=packed} keeps bookings in compact arrays, and {@code snapshot} serves
+     * reads from immutable snapshots that never wait for writers.
+     * {@code -Dbooking.tables=<file>} reads the venue's tables from a {@code tableId,capacity,vip} file;
+     * without it the venue has regular tables 1 to 10.
+     * Canceled bookings are compacted every {@code -Dbooking.compaction.interval} seconds (default 30).
+     * Metrics are exposed over JMX and logged every {@code -Dbooking.metrics.interval} seconds (default 60).
+     */
+    static BookingService createService() {
+        return createService(null);
+    }
+
+    /**
+     * Creates the booking service of one restaurant, see {@link #createService()}.
+     *
+     * @param directory Directory of the restaurant's {@code bookings.csv}, {@code bookings.journal},
+     *                  {@code partitions} and, if present, {@code tables.csv}; null for the default files.
+     */
+    static BookingService createService(Path directory) {
+        MetricsRegistry.global().registerMBean();
+        MetricsRegistry.global().startReporting(Duration.ofSeconds(Long.getLong("booking.metrics.interval", 60)));
+        BookingRepository repository = switch (System.getProperty("booking.repository", "memory")) {
+            case "packed" -> new PackedStorage();
+            case "snapshot" -> new SnapshotStorage();
+            default -> new InMemoryStorage();
+        };
+        StartupMode startupMode = StartupMode.valueOf(System.getProperty("booking.startup", "BLOCKING"));
+        BookingPersistence persistence;
+        BookingJournal journal = null;
+        if ("journal".equals(System.getProperty("booking.persistence"))) {
+            DurabilityMode durability = DurabilityMode.valueOf(System.getProperty("booking.durability", "SYNC"));
+            journal = directory == null
+                    ? new BookingJournal(durability, Duration.ofMillis(5))
+                    : new BookingJournal(directory.resolve("bookings.journal"), durability, Duration.ofMillis(5));
+            persistence = journal;
+        } else if ("partitioned".equals(System.getProperty("booking.persistence"))) {
+            persistence = directory == null
+                    ? new PartitionedFilePersistence(repository)
+                    : new PartitionedFilePersistence(repository, directory.resolve("partitions"), Clock.systemDefaultZone());
+        } else {
+            persistence = directory == null
+                    ? new CsvFilePersistence(repository::streamBookings)
+                    : new CsvFilePersistence(repository::streamBookings, directory.resolve("bookings.csv"));
+        }
+        BookingService service = new BookingService(repository, persistence, startupMode, loadTableCatalog(directory));
+        service.startCompaction(Duration.ofSeconds(Long.getLong("booking.compaction.interval", 30)));
+        if (journal != null) {
+            enableCheckpointsAfterHistory(service, journal, CHECKPOINT_RECORDS);
+        }
+        return service;
+    }
+
+    /**
+     * Enables automatic journal checkpoints once the service has loaded all past bookings.
+     * A checkpoint taken earlier, while {@link StartupMode#WARM_UP} still loads the history, would write a
+     * snapshot without the past bookings and then delete the journal segment that still holds them.
+     */
+    static void enableCheckpointsAfterHistory(BookingService service, BookingJournal journal, int recordsPerCheckpoint) {
+        service.historyLoaded().thenRun(() -> journal.enableCheckpoints(service::getAllBookings, recordsPerCheckpoint));
+    }
+
+    private static TableCatalog loadTableCatalog(Path directory) {
+        if (directory != null && Files.exists(directory.resolve("tables.csv"))) {
+            return new TableCatalog(TableCatalogLoader.loadFromFile(directory.resolve("tables.csv")));
+        }
+        String tableFile = System.getProperty("booking.tables");
+        return tableFile == null
+                ? TableCatalog.defaultCatalog()
+                : new TableCatalog(TableCatalogLoader.loadFromFile(Paths.get(tableFile)));
+    }
+}
@@ -0,0 +1,405 @@
+package ait.de.app;
+
+import ait.de.core.BookingCompactor;
+import ait.de.core.BookingService;
+import ait.de.dao.BookingPersistence;
+import ait.de.dao.BookingRepository;
+import ait.de.dao.InMemoryStorage;
+import ait.de.dao.PackedStorage;
+import ait.de.dao.SnapshotStorage;
+import ait.de.metrics.LatencyHistogram;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingOutcome;
+import ait.de.utilities.BookingStatus;
+import com.github.javafaker.Faker;
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator and soak-test harness: N concurrent simulated clients create, cancel and list bookings
+ * against a {@link BookingService} or a {@link BookingRepository} directly.
+ * <p>
+ * Bookings start on one of the next {@code horizonDays} days, mostly in the near future, mostly in the
+ * evening, and last one to three hours; customers are javafaker names. Every client only cancels bookings
+ * it created itself. Progress is printed every report interval: throughput, latency percentiles per
+ * operation, conflict rate and the heap still in use after the last garbage collection.
+ * <p>
+ * Configured by system properties, e.g.
+ * {@code -Dload.target=service -Dload.repository=packed -Dload.clients=32 -Dload.duration=3600
+ * -Dload.report=60 -Dload.mix=60,20,20 -Dload.days=90}; the mix gives the weights of create, cancel and list.
+ * The repository is {@code memory}, {@code packed} or {@code snapshot}; canceled bookings are compacted
+ * every {@code -Dload.compaction} seconds (default 5).
+ * The service runs without persistence, so the storage and the service logic are measured, not the disk.
+ */
+public class LoadGenerator {
+    private static final int NAME_POOL_SIZE = 1_000;
+    private static final LocalTime LATEST_END = LocalTime.of(21, 0); // One hour before closing
+    private static final int[] START_HOUR_WEIGHTS = {1, 2, 3, 2, 1, 1, 2, 4, 5, 4}; // 10:00 to 19:00
+    private static final int START_HOUR_WEIGHT_SUM = 25;
+    private static final int[] DURATION_MINUTES = {60, 90, 120, 120, 150, 180};
+    private static final int TABLES = 10;
+
+    private final Target target;
+    private final int clients;
+    private final int[] mix; // Cumulative weights, by Operation ordinal
+    private final int horizonDays;
+    private final long seed;
+    private final String[] customerNames;
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<BookingOutcome, LongAdder> createOutcomes = new EnumMap<>(BookingOutcome.class);
+    private final LongAdder canceled = new LongAdder();
+    private final LongAdder listed = new LongAdder(); // Bookings returned by list operations
+
+    /**
+     * Operation of a simulated client.
+     */
+    public enum Operation {
+        CREATE,
+        CANCEL,
+        LIST
+    }
+
+    /**
+     * System under load.
+     */
+    public interface Target {
+        BookingOutcome create(Booking booking);
+
+        boolean cancel(int bookingId);
+
+        /**
+         * @return Number of bookings overlapping the interval.
+         */
+        int list(LocalDateTime from, LocalDateTime to);
+    }
+
+    /**
+     * @param target      System under load.
+     * @param clients     Number of concurrent clients, one thread each.
+     * @param weights     Relative weights of create, cancel and list.
+     * @param horizonDays Number of days ahead that bookings are made for.
+     * @param seed        Seed of the clients' random generators.
+     */
+    public LoadGenerator(Target target, int clients, int[] weights, int horizonDays, long seed) {
+        if (clients < 1 || horizonDays < 1 || weights.length != Operation.values().length) {
+            throw new IllegalArgumentException("Need at least one client, one day and a weight for every operation.");
+        }
+        this.target = target;
+        this.clients = clients;
+        this.horizonDays = horizonDays;
+        this.seed = seed;
+        this.mix = new int[weights.length];
+        for (int i = 0, sum = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Operation weights must not be negative.");
+            }
+            sum += weights[i];
+            mix[i] = sum;
+        }
+        if (mix[mix.length - 1] == 0) {
+            throw new IllegalArgumentException("At least one operation weight must be positive.");
+        }
+        Faker faker = new Faker(Locale.ENGLISH, new Random(seed));
+        this.customerNames = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < customerNames.length; i++) {
+            customerNames[i] = faker.name().fullName();
+        }
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            createOutcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    /**
+     * @return Target calling the service's non-throwing API.
+     */
+    public static Target serviceTarget(BookingService service) {
+        return new Target() {
+            @Override
+            public BookingOutcome create(Booking booking) {
+                return service.tryCreateBooking(booking).getOutcome();
+            }
+
+            @Override
+            public boolean cancel(int bookingId) {
+                return service.cancelBooking(bookingId);
+            }
+
+            @Override
+            public int list(LocalDateTime from, LocalDateTime to) {
+                return service.findBookings(from, to).size();
+            }
+        };
+    }
+
+    /**
+     * @return Target calling the repository directly, without validation.
+     */
+    public static Target repositoryTarget(BookingRepository repository) {
+        return new Target() {
+            @Override
+            public BookingOutcome create(Booking booking) {
+                return repository.tryAddBooking(booking) ? BookingOutcome.CREATED : BookingOutcome.CONFLICT;
+            }
+
+            @Override
+            public boolean cancel(int bookingId) {
+                return repository.cancelBooking(bookingId).isPresent();
+            }
+
+            @Override
+            public int list(LocalDateTime from, LocalDateTime to) {
+                return repository.findBookings(from, to).size();
+            }
+        };
+    }
+
+    /**
+     * Runs the clients for the given time and prints a report line every {@code reportInterval}.
+     *
+     * @return Totals of the whole run.
+     */
+    public Report run(Duration duration, Duration reportInterval) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + duration.toNanos();
+        long heapBefore = heapAfterGc();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Random random = new Random(seed + i);
+            Thread thread = new Thread(() -> runClient(random, deadline), "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        long lastOperations = 0;
+        long lastNanos = startNanos;
+        while (System.nanoTime() < deadline) {
+            long sleepNanos = Math.min(reportInterval.toNanos(), deadline - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(sleepNanos, 0));
+            long now = System.nanoTime();
+            long operations = totalOperations();
+            System.out.println(progressLine(now - startNanos, (operations - lastOperations) * 1e9 / (now - lastNanos), heapBefore));
+            lastOperations = operations;
+            lastNanos = now;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new Report(Duration.ofNanos(System.nanoTime() - startNanos), totalOperations(),
+                createOutcomes.get(BookingOutcome.CREATED).sum(), createOutcomes.get(BookingOutcome.CONFLICT).sum(),
+                canceled.sum(), listed.sum(), heapAfterGc() - heapBefore);
+    }
+
+    private void runClient(Random random, long deadline) {
+        List<Integer> ownBookings = new ArrayList<>(); // IDs this client may cancel
+        while (System.nanoTime() < deadline) {
+            Operation operation = nextOperation(random);
+            if (operation == Operation.CANCEL && ownBookings.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            long startNanos = System.nanoTime();
+            switch (operation) {
+                case CREATE -> {
+                    Booking booking = randomBooking(random);
+                    BookingOutcome outcome = target.create(booking);
+                    createOutcomes.get(outcome).increment();
+                    if (outcome == BookingOutcome.CREATED) {
+                        ownBookings.add(booking.getId());
+                    }
+                }
+                case CANCEL -> {
+                    int index = random.nextInt(ownBookings.size());
+                    int last = ownBookings.size() - 1;
+                    int bookingId = ownBookings.set(index, ownBookings.get(last)); // Swap-remove
+                    ownBookings.remove(last);
+                    if (target.cancel(bookingId)) {
+                        canceled.increment();
+                    }
+                }
+                case LIST -> {
+                    LocalDateTime day = firstDay.plusDays(randomDay(random)).atStartOfDay();
+                    listed.add(target.list(day, day.plusDays(1)));
+                }
+            }
+            latencies.get(operation).recordSince(startNanos);
+        }
+    }
+
+    private Operation nextOperation(Random random) {
+        int value = random.nextInt(mix[mix.length - 1]);
+        int i = 0;
+        while (value >= mix[i]) {
+            i++;
+        }
+        return Operation.values()[i];
+    }
+
+    /**
+     * Days ahead follow an exponential distribution with a mean of a quarter of the horizon.
+     */
+    private int randomDay(Random random) {
+        return (int) Math.min(horizonDays - 1, (long) (-Math.log(1 - random.nextDouble()) * horizonDays / 4));
+    }
+
+    private Booking randomBooking(Random random) {
+        int value = random.nextInt(START_HOUR_WEIGHT_SUM);
+        int hour = 0;
+        while (value >= START_HOUR_WEIGHTS[hour]) {
+            value -= START_HOUR_WEIGHTS[hour++];
+        }
+        int minutes = DURATION_MINUTES[random.nextInt(DURATION_MINUTES.length)];
+        LocalDate day = firstDay.plusDays(randomDay(random));
+        LocalDateTime start = day.atTime(10 + hour, random.nextBoolean() ? 0 : 30);
+        LocalDateTime latestStart = day.atTime(LATEST_END).minusMinutes(minutes);
+        if (start.isAfter(latestStart)) {
+            start = latestStart;
+        }
+        return new Booking(random.nextInt(TABLES) + 1, start, start.plusMinutes(minutes),
+                customerNames[random.nextInt(customerNames.length)], BookingStatus.CONFIRMED);
+    }
+
+    private long totalOperations() {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        return total;
+    }
+
+    private String progressLine(long elapsedNanos, double throughput, long heapBefore) {
+        long creates = latencies.get(Operation.CREATE).getCount();
+        long conflicts = createOutcomes.get(BookingOutcome.CONFLICT).sum();
+        StringBuilder line = new StringBuilder(String.format("[%6ds] %,10.0f ops/s, conflict rate %5.1f%%, heap growth %+,d KB",
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), throughput,
+                creates == 0 ? 0.0 : 100.0 * conflicts / creates, (heapAfterGc() - heapBefore) / 1024));
+        latencies.forEach((operation, histogram) -> line.append(String.format("%n  %-6s p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                operation, histogram.getPercentileNanos(50) / 1e3, histogram.getPercentileNanos(99) / 1e3,
+                histogram.getPercentileNanos(99.9) / 1e3, histogram.getMaxNanos() / 1e3)));
+        return line.toString();
+    }
+
+    /**
+     * @return Heap in use after the last garbage collection, or the current usage if the JVM does not report it.
+     */
+    static long heapAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                MemoryUsage usage = pool.getCollectionUsage();
+                used += (usage != null ? usage : pool.getUsage()).getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return Latency histogram of one operation.
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * Totals of a load run.
+     */
+    @Getter
+    public static class Report {
+        private final Duration duration;
+        private final long operations;
+        private final long created;
+        private final long conflicts;
+        private final long canceled;
+        private final long listed; // Bookings returned by list operations
+        private final long heapGrowthBytes;
+
+        Report(Duration duration, long operations, long created, long conflicts, long canceled, long listed,
+               long heapGrowthBytes) {
+            this.duration = duration;
+            this.operations = operations;
+            this.created = created;
+            this.conflicts = conflicts;
+            this.canceled = canceled;
+            this.listed = listed;
+            this.heapGrowthBytes = heapGrowthBytes;
+        }
+
+        public double getThroughput() {
+            return operations * 1e9 / Math.max(duration.toNanos(), 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d operations in %ds (%,.0f ops/s): %,d created, %,d conflicts, %,d canceled, %,d listed, heap growth %+,d KB",
+                    operations, duration.toSeconds(), getThroughput(), created, conflicts, canceled, listed, heapGrowthBytes / 1024);
+        }
+    }
+
+    /**
+     * Persistence that keeps nothing, so the load measures the service and the storage only.
+     */
+    private static class NoPersistence implements BookingPersistence {
+        @Override
+        public List<Booking> load() {
+            return List.of();
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingCanceled(Booking booking) {
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        BookingRepository repository = switch (System.getProperty("load.repository", "memory")) {
+            case "memory" -> new InMemoryStorage();
+            case "packed" -> new PackedStorage();
+            case "snapshot" -> new SnapshotStorage();
+            default -> throw new IllegalArgumentException("Unknown repository: " + System.getProperty("load.repository"));
+        };
+        Duration compaction = Duration.ofSeconds(Long.getLong("load.compaction", 5));
+        Target target = switch (System.getProperty("load.target", "service")) {
+            case "service" -> {
+                BookingService service = new BookingService(repository, new NoPersistence());
+                service.startCompaction(compaction);
+                yield serviceTarget(service);
+            }
+            case "repository" -> {
+                new BookingCompactor(repository, BookingCompactor.DEFAULT_HISTORY_CAPACITY).start(compaction);
+                yield repositoryTarget(repository);
+            }
+            default -> throw new IllegalArgumentException("Unknown target: " + System.getProperty("load.target"));
+        };
+        String[] mix = System.getProperty("load.mix", "60,20,20").split(",");
+        int[] weights = new int[mix.length];
+        for (int i = 0; i < mix.length; i++) {
+            weights[i] = Integer.parseInt(mix[i].trim());
+        }
+        LoadGenerator generator = new LoadGenerator(target, Integer.getInteger("load.clients", 16), weights,
+                Integer.getInteger("load.days", 90), Long.getLong("load.seed", 42));
+        Report report = generator.run(Duration.ofSeconds(Long.getLong("load.duration", 60)),
+                Duration.ofSeconds(Long.getLong("load.report", 10)));
+        System.out.println(report);
+    }
+}
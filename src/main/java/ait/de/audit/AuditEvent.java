@@ -0,0 +1,38 @@
+package ait.de.audit;
+
+import ait.de.model.Booking;
+import ait.de.utilities.AuditEventType;
+import lombok.Getter;
+
+/**
+ * Immutable audit record of one booking request.
+ * <p>
+ * It only keeps references to the booking's fields and a timestamp; nothing is formatted until the
+ * background writer calls {@link #toString()}.
+ */
+@Getter
+public class AuditEvent {
+    private final AuditEventType type;
+    private final long timestampMillis;
+    private final Booking booking;
+    private final int blockingBookingId; // CONFLICT only
+    private final String reason; // INVALID only
+
+    AuditEvent(AuditEventType type, Booking booking, int blockingBookingId, String reason) {
+        this.type = type;
+        this.timestampMillis = System.currentTimeMillis();
+        this.booking = booking;
+        this.blockingBookingId = blockingBookingId;
+        this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+        String details = switch (type) {
+            case CONFLICT -> " blocked by booking ID=" + blockingBookingId;
+            case INVALID -> " - " + reason;
+            default -> "";
+        };
+        return type + " " + booking + details;
+    }
+}
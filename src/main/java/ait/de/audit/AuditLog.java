@@ -0,0 +1,216 @@
+package ait.de.audit;
+
+import ait.de.metrics.MetricsRegistry;
+import ait.de.model.Booking;
+import ait.de.utilities.AuditEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit log of booking requests.
+ * <p>
+ * Request threads put events into a bounded lock-free ring buffer and return; a single background
+ * writer takes them out in order and hands them to the {@link AuditSink}. Publishing costs one event
+ * allocation, one CAS on the tail and one store; no lock is taken and nothing is formatted.
+ * <p>
+ * When the buffer is full the new event is dropped and counted, so a slow sink can never block or
+ * slow down a request and memory stays bounded by the capacity. The writer logs a warning with the
+ * number of dropped events, and the total is exported as the {@code audit.dropped} counter.
+ * <p>
+ * An idle writer parks without a timeout. A producer that finds it parked unparks it after storing its
+ * event, so an idle log causes no wakeups and the cost of waking the writer falls only on the first
+ * event after a quiet period.
+ */
+@Slf4j
+public class AuditLog {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final LongAdder DROPPED = MetricsRegistry.global().counter("audit.dropped");
+    private static final Logger AUDIT_LOGGER = LoggerFactory.getLogger("ait.de.audit");
+    private static final AuditLog GLOBAL = createGlobal();
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next slot claimed by a producer
+    private volatile long head; // Next slot taken by the writer; written by the writer only
+    private final LongAdder dropped = new LongAdder();
+    private final AuditSink sink;
+    private long reportedDropped;
+    private volatile boolean running;
+    private Thread writer;
+    private volatile Thread idleWriter; // Set while the writer is parked or about to park
+
+    /**
+     * Creates an audit log without a writer; call {@link #start()} or {@link #drain()}.
+     *
+     * @param capacity Maximum number of pending events, rounded up to a power of two.
+     * @param sink     Destination of the events.
+     */
+    public AuditLog(int capacity, AuditSink sink) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Audit log capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.sink = sink;
+    }
+
+    /**
+     * @return Audit log shared by the whole application. It writes to the {@code ait.de.audit} logger and
+     * holds up to {@code -Dbooking.audit.capacity} pending events; pending events are written on JVM shutdown.
+     */
+    public static AuditLog global() {
+        return GLOBAL;
+    }
+
+    private static AuditLog createGlobal() {
+        AuditLog audit = new AuditLog(Integer.getInteger("booking.audit.capacity", DEFAULT_CAPACITY),
+                event -> AUDIT_LOGGER.info("{}", event));
+        audit.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(audit::close, "audit-flush"));
+        return audit;
+    }
+
+    public void created(Booking booking) {
+        publish(new AuditEvent(AuditEventType.CREATED, booking, 0, null));
+    }
+
+    public void canceled(Booking booking) {
+        publish(new AuditEvent(AuditEventType.CANCELED, booking, 0, null));
+    }
+
+    public void conflict(Booking booking, int blockingBookingId) {
+        publish(new AuditEvent(AuditEventType.CONFLICT, booking, blockingBookingId, null));
+    }
+
+    public void invalid(Booking booking, String reason) {
+        publish(new AuditEvent(AuditEventType.INVALID, booking, 0, reason));
+    }
+
+    /**
+     * Puts an event into the buffer without blocking.
+     *
+     * @return false if the buffer was full and the event was dropped.
+     */
+    public boolean publish(AuditEvent event) {
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head >= slots.length()) {
+                dropped.increment();
+                DROPPED.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        slots.lazySet((int) slot & mask, event);
+        Thread idle = idleWriter; // Read after the tail CAS, so a writer about to park sees our slot or is unparked
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+        return true;
+    }
+
+    /**
+     * Writes all events published so far to the sink, in publishing order.
+     * An event whose slot is claimed but not yet filled ends the pass; the next pass picks it up.
+     *
+     * @return Number of events written.
+     */
+    public synchronized int drain() {
+        int written = 0;
+        long next = head;
+        AuditEvent event;
+        while ((event = slots.get((int) next & mask)) != null) {
+            slots.lazySet((int) next & mask, null); // Freed before head moves, so producers never overwrite
+            head = ++next;
+            try {
+                sink.write(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to write audit event: {}", event, e);
+            }
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * @return Number of events dropped because the buffer was full.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return Number of events waiting for the writer.
+     */
+    public int getPending() {
+        return (int) (tail.get() - head);
+    }
+
+    /**
+     * Starts the background writer, unless it is running already.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the background writer and writes the remaining events.
+     */
+    public void close() {
+        Thread stopping;
+        synchronized (this) {
+            running = false;
+            stopping = writer;
+            writer = null;
+        }
+        if (stopping != null) {
+            LockSupport.unpark(stopping);
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    private void writeLoop() {
+        Thread self = Thread.currentThread();
+        while (running) {
+            if (drain() > 0) {
+                continue;
+            }
+            reportDropped();
+            idleWriter = self;
+            if (tail.get() == head) { // Checked after announcing the park, so no published event is missed
+                if (running) {
+                    LockSupport.park(this);
+                }
+            } else {
+                Thread.onSpinWait(); // A producer has claimed a slot but not stored its event yet
+            }
+            idleWriter = null;
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            log.warn("Audit buffer full, {} events dropped.", total - reportedDropped);
+            reportedDropped = total;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ait.de.audit;
+
+/**
+ * Destination of the audit events, called by the background writer only.
+ */
+@FunctionalInterface
+public interface AuditSink {
+    void write(AuditEvent event);
+}
@@ -0,0 +1,117 @@
+package ait.de.core;
+
+import ait.de.dao.BookingRepository;
+import ait.de.metrics.LatencyHistogram;
+import ait.de.metrics.MetricsRegistry;
+import ait.de.model.Booking;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves canceled bookings out of a repository's indexes in the background.
+ * <p>
+ * A cancellation only leaves a tombstone in the repository (see {@link BookingRepository#cancelBooking(int)}),
+ * so its latency does not depend on how many bookings a table has. The compactor purges the tombstones in
+ * batches at a fixed interval and keeps the latest {@code historyCapacity} of them as the cancellation history;
+ * older entries remain in the audit log only.
+ */
+@Slf4j
+public class BookingCompactor {
+    public static final int DEFAULT_HISTORY_CAPACITY = 10_000;
+    private static final LatencyHistogram COMPACT_LATENCY = MetricsRegistry.global().histogram("booking.compact");
+    private static final LongAdder PURGED = MetricsRegistry.global().counter("booking.purged");
+
+    private final BookingRepository repository;
+    private final int historyCapacity;
+    private final Deque<Booking> history = new ArrayDeque<>(); // Oldest cancellation first
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a compactor that runs only when {@link #compact()} is called; call {@link #start(Duration)}
+     * to run it periodically.
+     *
+     * @param repository      Repository whose tombstones are purged.
+     * @param historyCapacity Maximum number of canceled bookings kept in the history.
+     */
+    public BookingCompactor(BookingRepository repository, int historyCapacity) {
+        if (historyCapacity < 0) {
+            throw new IllegalArgumentException("History capacity must not be negative: " + historyCapacity);
+        }
+        this.repository = repository;
+        this.historyCapacity = historyCapacity;
+    }
+
+    /**
+     * Purges the tombstones of all bookings canceled so far and moves them to the history.
+     *
+     * @return Number of purged bookings.
+     */
+    public synchronized int compact() {
+        long startNanos = System.nanoTime();
+        List<Booking> purged = repository.purgeCanceled();
+        for (Booking booking : purged) {
+            if (history.size() == historyCapacity) {
+                history.pollFirst();
+            }
+            if (historyCapacity > 0) {
+                history.addLast(booking);
+            }
+        }
+        PURGED.add(purged.size());
+        COMPACT_LATENCY.recordSince(startNanos);
+        return purged.size();
+    }
+
+    /**
+     * @return Purged canceled bookings, oldest cancellation first.
+     */
+    public synchronized List<Booking> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    /**
+     * Compacts at the given interval on a daemon thread. A second call replaces the first schedule.
+     *
+     * @param interval Time between the end of one compaction and the start of the next.
+     */
+    public synchronized void start(Duration interval) {
+        stop();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "booking-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic compaction. Remaining tombstones stay in the repository.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            int purged = compact();
+            if (purged > 0) {
+                log.debug("{} canceled bookings moved to the history.", purged);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to compact canceled bookings", e); // A thrown exception would end the schedule
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ait.de.core;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingOutcome;
+import lombok.Getter;
+
+/**
+ * Result of {@link BookingService#tryCreateBooking} and {@link BookingService#tryAssignBooking}:
+ * the outcome plus the IDs that explain it.
+ * Rejections are plain values, so no exception or stack trace is created for them.
+ */
+@Getter
+public class BookingResult {
+    private final BookingOutcome outcome;
+    private final int bookingId; // ID of the created booking, 0 otherwise
+    private final int tableId; // Table of the created booking, 0 otherwise
+    private final int blockingBookingId; // ID of the booking in the way on a conflict, 0 if unknown
+    private final String message; // Reason for a rejection, null if created
+
+    private BookingResult(BookingOutcome outcome, int bookingId, int tableId, int blockingBookingId, String message) {
+        this.outcome = outcome;
+        this.bookingId = bookingId;
+        this.tableId = tableId;
+        this.blockingBookingId = blockingBookingId;
+        this.message = message;
+    }
+
+    static BookingResult created(Booking booking) {
+        return new BookingResult(BookingOutcome.CREATED, booking.getId(), booking.getTableId(), 0, null);
+    }
+
+    static BookingResult conflict(int blockingBookingId, String message) {
+        return new BookingResult(BookingOutcome.CONFLICT, 0, 0, blockingBookingId, message);
+    }
+
+    static BookingResult invalid(BookingOutcome outcome, String message) {
+        return new BookingResult(outcome, 0, 0, 0, message);
+    }
+
+    /**
+     * @return true if the booking was created.
+     */
+    public boolean isCreated() {
+        return outcome == BookingOutcome.CREATED;
+    }
+
+    @Override
+    public String toString() {
+        return switch (outcome) {
+            case CREATED -> "CREATED(id=" + bookingId + ")";
+            case CONFLICT -> "CONFLICT(blockingId=" + blockingBookingId + ")";
+            default -> outcome + "(" + message + ")";
+        };
+    }
+}
@@ -1,67 +1,351 @@
 package ait.de.core;
 
+import ait.de.audit.AuditLog;
+import ait.de.dao.BookingPersistence;
 import ait.de.dao.BookingRepository;
-import ait.de.dao.FileStorage;
+import ait.de.dao.CsvFilePersistence;
 import ait.de.exceptions.BookingConflictException;
 import ait.de.exceptions.BookingException;
+import ait.de.metrics.LatencyHistogram;
+import ait.de.metrics.MetricsRegistry;
 import ait.de.model.Booking;
+import ait.de.model.Table;
+import ait.de.model.TimeSlot;
+import ait.de.utilities.BookingOutcome;
 import ait.de.utilities.BookingStatus;
+import ait.de.utilities.StartupMode;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing restaurant table bookings.
+ * <p>
+ * In {@link StartupMode#WARM_UP} mode the service accepts requests as soon as today's and future
+ * bookings are loaded, while past bookings are loaded on a background thread. Requests that touch
+ * the past wait until the history is loaded; {@link #isHistoryLoaded()} tells whether they would.
  */
 @Slf4j
 public class BookingService {
     private static final LocalTime OPENING_TIME = LocalTime.of(10, 0);
     private static final LocalTime CLOSING_TIME = LocalTime.of(22, 0);
+    private static final String CONFLICT_MESSAGE = "Booking time conflicts with an existing reservation!";
+    private static final BookingResult END_NOT_AFTER_START = BookingResult.invalid(BookingOutcome.INVALID_TIME,
+            "End time must be later than start time.");
+    private static final BookingResult OUTSIDE_OPENING_HOURS = BookingResult.invalid(BookingOutcome.INVALID_TIME,
+            "Booking must end at least one hour before closing time!");
+    private static final LatencyHistogram CREATE_LATENCY = MetricsRegistry.global().histogram("booking.create");
+    private static final LatencyHistogram ASSIGN_LATENCY = MetricsRegistry.global().histogram("booking.assign");
+    private static final LatencyHistogram CANCEL_LATENCY = MetricsRegistry.global().histogram("booking.cancel");
+    private static final LongAdder CREATED = MetricsRegistry.global().counter("booking.created");
+    private static final LongAdder CONFLICTS = MetricsRegistry.global().counter("booking.conflicts");
+    private static final LongAdder REJECTED = MetricsRegistry.global().counter("booking.rejected");
+    private static final LongAdder CANCELED = MetricsRegistry.global().counter("booking.canceled");
+    private static final LongAdder CANCEL_NOT_FOUND = MetricsRegistry.global().counter("booking.cancel.notFound");
+    private static final AuditLog AUDIT = AuditLog.global();
 
     private final BookingRepository repository;
+    private final BookingPersistence persistence;
+    private final TableCatalog tableCatalog;
+    private final BookingCompactor compactor;
+    private final BookingResult invalidTable;
+    private final LocalDateTime historyCutoff; // Bookings ending before it are history
+    private final CompletableFuture<Void> historyLoaded;
+    private CompletableFuture<Void> deferredWrites = CompletableFuture.completedFuture(null);
 
+    /**
+     * Creates a service that rewrites the CSV file after every mutation.
+     */
     public BookingService(BookingRepository repository) {
+        this(repository, new CsvFilePersistence(repository::streamBookings));
+    }
+
+    /**
+     * Creates a service with the given persistence, e.g. a {@link ait.de.dao.BookingJournal}.
+     */
+    public BookingService(BookingRepository repository, BookingPersistence persistence) {
+        this(repository, persistence, StartupMode.BLOCKING);
+    }
+
+    /**
+     * Creates a service with the given persistence and startup mode.
+     */
+    public BookingService(BookingRepository repository, BookingPersistence persistence, StartupMode startupMode) {
+        this(repository, persistence, startupMode, TableCatalog.defaultCatalog());
+    }
+
+    /**
+     * Creates a service for a venue with the given tables.
+     */
+    public BookingService(BookingRepository repository, BookingPersistence persistence, StartupMode startupMode,
+                          TableCatalog tableCatalog) {
         this.repository = repository;
-        loadBookings(); // Load bookings from file on startup
+        this.persistence = persistence;
+        this.tableCatalog = tableCatalog;
+        this.compactor = new BookingCompactor(repository, BookingCompactor.DEFAULT_HISTORY_CAPACITY);
+        this.invalidTable = BookingResult.invalid(BookingOutcome.INVALID_TABLE, tableCatalog.getInvalidTableMessage());
+        this.historyCutoff = LocalDate.now().atStartOfDay();
+        this.historyLoaded = loadBookings(startupMode); // Load bookings from file on startup
     }
 
     /**
      * Creates a new booking after checking for conflicts.
+     *
+     * @throws BookingConflictException if the table is already booked at that time.
+     * @throws BookingException         if the table or the time is invalid.
      */
     public void createBooking(Booking newBooking) throws BookingException {
-        if (newBooking.getTableId() < 1 || newBooking.getTableId() > 10) {
-            log.warn("Invalid table number: {}", newBooking.getTableId());
-            throw new BookingException("Table number must be between 1 and 10!");
+        BookingResult result = tryCreateBooking(newBooking);
+        switch (result.getOutcome()) {
+            case CREATED -> {
+            }
+            case CONFLICT -> throw new BookingConflictException(result.getMessage());
+            default -> throw new BookingException(result.getMessage());
         }
+    }
 
-        // Checking the correctness of booking dates.
-        if (newBooking.getEndDateTime().isBefore(newBooking.getStartDateTime()) ||
-                newBooking.getEndDateTime().equals(newBooking.getStartDateTime())) {
-            log.warn("Invalid booking time: Start={} End={}", newBooking.getStartDateTime(), newBooking.getEndDateTime());
-            throw new BookingException("End time must be later than start time.");
+    /**
+     * Creates a new booking if it is valid and the table is free, and reports the outcome as a value.
+     * Rejections throw nothing and log nothing; invalid bookings return shared result instances.
+     * Every outcome is recorded in the asynchronous {@link AuditLog}.
+     *
+     * @param newBooking The booking to be created.
+     * @return CREATED with the booking ID, CONFLICT with the ID of the blocking booking, or the validation failure.
+     */
+    public BookingResult tryCreateBooking(Booking newBooking) {
+        long startNanos = System.nanoTime();
+        try {
+            BookingResult invalid = validate(newBooking);
+            if (invalid != null) {
+                REJECTED.increment();
+                AUDIT.invalid(newBooking, invalid.getMessage());
+                return invalid;
+            }
+            if (newBooking.getStartDateTime().isBefore(historyCutoff)) {
+                awaitHistory(); // It may conflict with a past booking that is not loaded yet
+                Optional<Booking> archived = findArchivedConflict(newBooking);
+                if (archived.isPresent()) {
+                    CONFLICTS.increment();
+                    AUDIT.conflict(newBooking, archived.get().getId());
+                    return BookingResult.conflict(archived.get().getId(), CONFLICT_MESSAGE);
+                }
+            }
+            // Conflict check and insert are one atomic step, so concurrent requests cannot double-book a table.
+            if (!repository.tryAddBooking(newBooking)) {
+                CONFLICTS.increment();
+                // Looked up only after the failed insert; 0 if the blocking booking is gone by now
+                int blockingId = repository.findConflict(newBooking.getTableId(), newBooking.getStartDateTime(),
+                        newBooking.getEndDateTime()).map(Booking::getId).orElse(0);
+                AUDIT.conflict(newBooking, blockingId);
+                return BookingResult.conflict(blockingId, CONFLICT_MESSAGE);
+            }
+            CREATED.increment();
+            AUDIT.created(newBooking);
+            persist(() -> persistence.bookingCreated(newBooking)); // Save after booking is created
+            return BookingResult.created(newBooking);
+        } finally {
+            CREATE_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Books the smallest free table that seats the party: the lowest capacity first, then the lowest table ID.
+     * The table is checked and booked in one atomic step; if another request takes it in between,
+     * the next best table is tried.
+     *
+     * @param partySize    Number of guests.
+     * @param start        Start of the booking.
+     * @param end          End of the booking.
+     * @param customerName Name of the customer.
+     * @param vip          true for a VIP table, false for a regular one.
+     * @return CREATED with the booking and table IDs, CONFLICT if every fitting table is taken,
+     * INVALID_TABLE if no table of the kind seats the party, or INVALID_TIME.
+     * @throws IllegalArgumentException if the customer name is blank or contains control characters.
+     */
+    public BookingResult tryAssignBooking(int partySize, LocalDateTime start, LocalDateTime end, String customerName,
+                                          boolean vip) {
+        if (!Booking.isValidCustomerName(customerName)) { // Rejected before a table is searched
+            throw new IllegalArgumentException("Customer name must not be blank or contain control characters.");
+        }
+        long startNanos = System.nanoTime();
+        try {
+            BookingResult invalid = validateTime(start, end);
+            if (invalid == null && (partySize < 1 || partySize > tableCatalog.getMaxCapacity(vip))) {
+                invalid = BookingResult.invalid(BookingOutcome.INVALID_TABLE,
+                        "No " + (vip ? "VIP " : "") + "table seats " + partySize + " guests!");
+            }
+            if (invalid != null) {
+                REJECTED.increment();
+                return invalid;
+            }
+            awaitHistoryBefore(start);
+            Set<Integer> archived = archivedTables(start, end);
+            Set<Integer> lost = null; // Tables taken by another request between our check and our insert
+            while (true) {
+                Set<Integer> skipped = lost;
+                Optional<Table> table = tableCatalog.findSmallest(partySize, vip,
+                        tableId -> (skipped == null || !skipped.contains(tableId)) && !archived.contains(tableId)
+                                && !repository.hasConflict(tableId, start, end));
+                if (table.isEmpty()) {
+                    CONFLICTS.increment();
+                    return BookingResult.conflict(0, "No free table for " + partySize + " guests at that time!");
+                }
+                Booking booking = new Booking(table.get().getTableId(), start, end, customerName, BookingStatus.CONFIRMED);
+                if (repository.tryAddBooking(booking)) {
+                    CREATED.increment();
+                    AUDIT.created(booking);
+                    persist(() -> persistence.bookingCreated(booking));
+                    return BookingResult.created(booking);
+                }
+                if (lost == null) {
+                    lost = new HashSet<>();
+                }
+                lost.add(booking.getTableId());
+            }
+        } finally {
+            ASSIGN_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Finds the smallest free table that seats the party, without booking it. The times are not validated.
+     *
+     * @return The table, or empty if every fitting table of the kind is taken or none fits.
+     */
+    public Optional<Table> findBestTable(int partySize, LocalDateTime start, LocalDateTime end, boolean vip) {
+        awaitHistoryBefore(start);
+        Set<Integer> archived = archivedTables(start, end);
+        return tableCatalog.findSmallest(partySize, vip,
+                tableId -> !archived.contains(tableId) && !repository.hasConflict(tableId, start, end));
+    }
+
+    /**
+     * @return Tables of the venue.
+     */
+    public TableCatalog getTableCatalog() {
+        return tableCatalog;
+    }
+
+    /**
+     * Creates a batch of bookings and persists them once.
+     * <p>
+     * Bookings are checked in the given order against the repository and against the bookings
+     * accepted earlier in the same batch, which are kept in a per-table index sorted by start time.
+     * The result is the same as calling {@link #createBooking(Booking)} for each of them, except
+     * that nothing is thrown and the file is written only once.
+     *
+     * @param newBookings Bookings to be created.
+     * @return Result for every booking, in the given order.
+     */
+    public ImportReport createBookings(Collection<Booking> newBookings) {
+        List<Booking> batch = new ArrayList<>(newBookings);
+        if (batch.stream().anyMatch(booking -> booking.getStartDateTime().isBefore(historyCutoff))) {
+            awaitHistory();
+        }
+        BookingOutcome[] outcomes = new BookingOutcome[batch.size()];
+        String[] messages = new String[batch.size()];
+        Map<Integer, NavigableMap<LocalDateTime, Booking>> accepted = new HashMap<>(); // tableId -> accepted by start
+
+        for (int i = 0; i < batch.size(); i++) {
+            Booking booking = batch.get(i);
+            BookingResult invalid = validate(booking);
+            if (invalid != null) {
+                outcomes[i] = invalid.getOutcome();
+                messages[i] = invalid.getMessage();
+                continue;
+            }
+            NavigableMap<LocalDateTime, Booking> schedule = accepted.computeIfAbsent(booking.getTableId(), id -> new TreeMap<>());
+            if (repository.hasConflict(booking.getTableId(), booking.getStartDateTime(), booking.getEndDateTime())
+                    || overlaps(schedule, booking)
+                    || booking.getStartDateTime().isBefore(historyCutoff) && findArchivedConflict(booking).isPresent()) {
+                outcomes[i] = BookingOutcome.CONFLICT;
+                messages[i] = CONFLICT_MESSAGE;
+                continue;
+            }
+            schedule.put(booking.getStartDateTime(), booking);
+        }
+
+        List<Booking> created = new ArrayList<>();
+        ImportReport report = new ImportReport();
+        for (int i = 0; i < batch.size(); i++) {
+            Booking booking = batch.get(i);
+            // Insert atomically: another request may have taken the slot since the check above
+            if (outcomes[i] == null && !repository.tryAddBooking(booking)) {
+                outcomes[i] = BookingOutcome.CONFLICT;
+                messages[i] = CONFLICT_MESSAGE;
+            }
+            if (outcomes[i] == null) {
+                outcomes[i] = BookingOutcome.CREATED;
+                created.add(booking);
+            }
+            report.add(booking, outcomes[i], messages[i]);
+            audit(booking, outcomes[i], messages[i]);
+        }
+        if (!created.isEmpty()) {
+            persist(() -> persistence.bookingsCreated(created)); // Save once for the whole batch
+        }
+        CREATED.add(report.count(BookingOutcome.CREATED));
+        CONFLICTS.add(report.count(BookingOutcome.CONFLICT));
+        REJECTED.add(report.count(BookingOutcome.INVALID_TABLE) + report.count(BookingOutcome.INVALID_TIME));
+        log.info("Batch of {} bookings processed: {}", batch.size(), report);
+        return report;
+    }
+
+    private static void audit(Booking booking, BookingOutcome outcome, String message) {
+        switch (outcome) {
+            case CREATED -> AUDIT.created(booking);
+            case CONFLICT -> AUDIT.conflict(booking, 0); // The batch does not look up the blocking booking
+            default -> AUDIT.invalid(booking, message);
         }
+    }
 
-        if (!isValidBookingTime(newBooking)) {
-            log.warn("Invalid booking time: {}", newBooking);
-            throw new BookingException("Booking must end at least one hour before closing time!");
+    /**
+     * Returns the result explaining why a booking cannot be created, or null if it is valid.
+     */
+    private BookingResult validate(Booking booking) {
+        if (!tableCatalog.contains(booking.getTableId())) {
+            return invalidTable;
+        }
+        return validateTime(booking.getStartDateTime(), booking.getEndDateTime());
+    }
+
+    /**
+     * Returns the result explaining why the booking times are invalid, or null if they are valid.
+     */
+    private static BookingResult validateTime(LocalDateTime start, LocalDateTime end) {
+        // Checking the correctness of booking dates.
+        if (!start.isBefore(end)) {
+            return END_NOT_AFTER_START;
         }
-        if (repository.hasConflict(newBooking.getTableId(), newBooking.getStartDateTime(), newBooking.getEndDateTime())) {
-            log.warn("Booking conflict detected: {}", newBooking);
-            throw new BookingConflictException("Booking time conflicts with an existing reservation!");
+        if (!isValidBookingTime(start, end)) {
+            return OUTSIDE_OPENING_HOURS;
         }
-        repository.addBooking(newBooking);
-        log.info("Booking successfully created: {}", newBooking);
-        saveBookings(); // Save after booking is created
+        return null;
     }
 
     /**
      * Validates booking time constraints.
      */
-    private boolean isValidBookingTime(Booking booking) {
-        LocalDateTime end = booking.getEndDateTime();
-        LocalDateTime start = booking.getStartDateTime();
+    private static boolean isValidBookingTime(LocalDateTime start, LocalDateTime end) {
         LocalDateTime closingDeadline = LocalDateTime.of(start.toLocalDate(), CLOSING_TIME.minusHours(1));
 
         return !start.toLocalTime().isBefore(OPENING_TIME) &&
@@ -69,40 +353,320 @@ public class BookingService {
     }
 
     /**
-     * Cancels an existing booking.
+     * Finds an archived booking that blocks the table of a new booking. The repository does not hold
+     * archived months, so a booking made into one must also be checked against the archive.
+     */
+    private Optional<Booking> findArchivedConflict(Booking booking) {
+        return persistence.loadArchived(booking.getStartDateTime(), booking.getEndDateTime()).stream()
+                .filter(archived -> archived.getTableId() == booking.getTableId() && !archived.isCanceled())
+                .findFirst();
+    }
+
+    /**
+     * Tables blocked by archived bookings in the interval. Archives hold only closed months and bookings
+     * end on the day they start, so only an interval starting before today can reach them.
+     */
+    private Set<Integer> archivedTables(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(historyCutoff)) {
+            return Set.of();
+        }
+        return persistence.loadArchived(start, end).stream()
+                .filter(archived -> !archived.isCanceled())
+                .map(Booking::getTableId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks a booking against the bookings of its table accepted earlier in the same batch.
+     */
+    private static boolean overlaps(NavigableMap<LocalDateTime, Booking> schedule, Booking booking) {
+        Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(booking.getEndDateTime());
+        return previous != null && booking.getStartDateTime().isBefore(previous.getValue().getEndDateTime())
+                || schedule.containsKey(booking.getStartDateTime());
+    }
+
+    /**
+     * Cancels an existing booking. The repository frees its time at once, usually by leaving a tombstone;
+     * the compactor purges it later and keeps it in {@link #getCanceledBookings()}.
      */
     public boolean cancelBooking(int bookingId) {
-        if (repository.getBookingById(bookingId).isPresent()) {
-            repository.removeBooking(bookingId);
-            log.info("Booking ID={} successfully canceled", bookingId);
-            saveBookings(); // Save after cancellation
-            return true;
+        long startNanos = System.nanoTime();
+        try {
+            Optional<Booking> booking = repository.cancelBooking(bookingId);
+            if (booking.isEmpty() && !isHistoryLoaded()) {
+                awaitHistory(); // It may be a past booking that is not loaded yet
+                booking = repository.cancelBooking(bookingId);
+            }
+            if (booking.isPresent()) {
+                CANCELED.increment();
+                Booking canceled = booking.get();
+                AUDIT.canceled(canceled);
+                persist(() -> persistence.bookingCanceled(canceled)); // Save after cancellation
+                return true;
+            }
+            CANCEL_NOT_FOUND.increment();
+            log.warn("Attempt to cancel a non-existing booking ID={}", bookingId);
+            return false;
+        } finally {
+            CANCEL_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Compacts the canceled bookings at the given interval on a daemon thread, see {@link BookingCompactor}.
+     * Without it canceled bookings are only compacted by {@link #getCanceledBookings()}.
+     */
+    public void startCompaction(Duration interval) {
+        compactor.start(interval);
+    }
+
+    /**
+     * Retrieves the latest canceled bookings, after compacting the ones not yet moved to the history.
+     *
+     * @return Canceled bookings, oldest cancellation first.
+     */
+    public List<Booking> getCanceledBookings() {
+        compactor.compact();
+        return compactor.getHistory();
+    }
+
+    /**
+     * Finds the free intervals of a table on a given day that are at least {@code minDuration} long.
+     * <p>
+     * Intervals lie between the opening time and one hour before closing, the latest time a booking may end.
+     * They are computed from the table's bookings of that day only, read from the repository's sorted index.
+     *
+     * @param tableId     The ID of the table.
+     * @param date        The day to check.
+     * @param minDuration Minimum length of a returned interval.
+     * @return Free intervals ordered by start time.
+     * @throws BookingException if the table number is invalid.
+     */
+    public List<TimeSlot> findFreeSlots(int tableId, LocalDate date, Duration minDuration) throws BookingException {
+        if (!tableCatalog.contains(tableId)) {
+            throw new BookingException(tableCatalog.getInvalidTableMessage());
+        }
+        LocalDateTime dayStart = date.atTime(OPENING_TIME);
+        LocalDateTime dayEnd = date.atTime(CLOSING_TIME.minusHours(1));
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime freeFrom = dayStart;
+        for (Booking booking : findTableBookings(tableId, dayStart, dayEnd)) {
+            addSlotIfLongEnough(slots, freeFrom, booking.getStartDateTime(), minDuration);
+            if (booking.getEndDateTime().isAfter(freeFrom)) {
+                freeFrom = booking.getEndDateTime();
+            }
+        }
+        addSlotIfLongEnough(slots, freeFrom, dayEnd, minDuration);
+        return slots;
+    }
+
+    /**
+     * Retrieves the bookings of all tables that overlap the given interval, ordered by start time.
+     *
+     * @param from Start of the interval (inclusive).
+     * @param to   End of the interval (exclusive).
+     * @return Bookings overlapping the interval.
+     */
+    public List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+        awaitHistoryBefore(from);
+        return withArchived(repository.findBookings(from, to), persistence.loadArchived(from, to));
+    }
+
+    /**
+     * Retrieves the bookings of one table that overlap the given interval, ordered by start time.
+     *
+     * @param tableId The ID of the table.
+     * @param from    Start of the interval (inclusive).
+     * @param to      End of the interval (exclusive).
+     * @return Bookings of the table overlapping the interval.
+     */
+    public List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+        awaitHistoryBefore(from);
+        List<Booking> archived = persistence.loadArchived(from, to).stream()
+                .filter(booking -> booking.getTableId() == tableId)
+                .collect(Collectors.toList());
+        return withArchived(repository.findTableBookings(tableId, from, to), archived);
+    }
+
+    /**
+     * Retrieves all bookings of a given day, ordered by start time.
+     *
+     * @param date The day to look at.
+     * @return Bookings overlapping the day.
+     */
+    public List<Booking> getBookingsForDate(LocalDate date) {
+        return findBookings(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Retrieves the bookings of a customer, ordered by ID. Names are compared ignoring case.
+     * All loaded bookings are scanned; archived months are not searched.
+     *
+     * @param customerName Name of the customer.
+     * @return Bookings made under that name.
+     */
+    public List<Booking> findCustomerBookings(String customerName) {
+        awaitHistory();
+        return repository.streamBookings()
+                .filter(booking -> booking.getCustomerName().equalsIgnoreCase(customerName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Merges archived bookings, which the repository does not hold, into a range query result.
+     */
+    private static List<Booking> withArchived(List<Booking> bookings, List<Booking> archived) {
+        if (archived.isEmpty()) {
+            return bookings;
+        }
+        List<Booking> merged = new ArrayList<>(bookings);
+        merged.addAll(archived);
+        merged.sort(Comparator.comparing(Booking::getStartDateTime).thenComparingInt(Booking::getId));
+        return merged;
+    }
+
+    private static void addSlotIfLongEnough(List<TimeSlot> slots, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+        if (start.isBefore(end) && Duration.between(start, end).compareTo(minDuration) >= 0) {
+            slots.add(new TimeSlot(start, end));
         }
-        log.warn("Attempt to cancel a non-existing booking ID={}", bookingId);
-        return false;
     }
 
     /**
      * Retrieves all bookings.
      */
     public List<Booking> getAllBookings() {
+        awaitHistory();
         return repository.getAllBookings();
     }
 
     /**
-     * Saves current bookings to file.
+     * Streams all bookings ordered by ID without copying them into a list.
+     */
+    public Stream<Booking> streamBookings() {
+        awaitHistory();
+        return repository.streamBookings();
+    }
+
+    /**
+     * Retrieves one page of bookings ordered by ID.
+     *
+     * @param afterId ID of the last booking of the previous page, or 0 for the first page.
+     * @param limit   Maximum number of bookings in the page.
+     * @return Up to {@code limit} bookings; an empty list after the last page.
+     */
+    public List<Booking> getBookingsPage(int afterId, int limit) {
+        awaitHistory();
+        return repository.getBookingsPage(afterId, limit);
+    }
+
+    /**
+     * Tells whether all past bookings are loaded. Until then, requests touching the past wait for them.
+     */
+    public boolean isHistoryLoaded() {
+        return historyLoaded.isDone();
+    }
+
+    /**
+     * Completes when all past bookings are loaded.
+     */
+    public CompletableFuture<Void> historyLoaded() {
+        return historyLoaded;
+    }
+
+    /**
+     * Waits for the history and deferred writes, then releases the files held by the persistence.
+     */
+    public void close() {
+        compactor.stop();
+        awaitHistory();
+        CompletableFuture<Void> writes;
+        synchronized (this) {
+            writes = deferredWrites;
+        }
+        writes.join();
+        persistence.close();
+    }
+
+    private void awaitHistory() {
+        if (!historyLoaded.isDone()) {
+            log.info("Waiting for historical bookings to be loaded.");
+            historyLoaded.join();
+        }
+    }
+
+    private void awaitHistoryBefore(LocalDateTime from) {
+        if (from.isBefore(historyCutoff)) {
+            awaitHistory();
+        }
+    }
+
+    /**
+     * Runs a persistence write. A persistence that rewrites all bookings must not run before the history
+     * is loaded, or it would drop the past bookings from its file; such writes are deferred until then.
      */
-    private void saveBookings() {
-        FileStorage.saveToFile(repository.getAllBookings());
+    private void persist(Runnable write) {
+        if (historyLoaded.isDone() || !persistence.savesAllBookings()) {
+            write.run();
+            return;
+        }
+        synchronized (this) {
+            deferredWrites = CompletableFuture.allOf(deferredWrites, historyLoaded.thenRun(write));
+        }
     }
 
     /**
      * Loads bookings from file on startup.
+     * In warm-up mode only today's and future bookings are inserted before returning.
+     *
+     * @return Future completing when the past bookings are loaded as well.
      */
-    private void loadBookings() {
-        List<Booking> loadedBookings = FileStorage.loadFromFile();
+    private CompletableFuture<Void> loadBookings(StartupMode startupMode) {
+        List<Booking> loadedBookings = persistence.load();
+        if (startupMode == StartupMode.BLOCKING) {
+            insertLoaded(loadedBookings);
+            return CompletableFuture.completedFuture(null);
+        }
+        List<Booking> current = new ArrayList<>();
+        List<Booking> past = new ArrayList<>();
         for (Booking booking : loadedBookings) {
+            (booking.getEndDateTime().isAfter(historyCutoff) ? current : past).add(booking);
+        }
+        insertLoaded(current);
+        log.info("{} current bookings loaded, loading {} past bookings in the background.", current.size(), past.size());
+        Executor historyLoader = task -> {
+            Thread thread = new Thread(task, "booking-history-loader");
+            thread.setDaemon(true);
+            thread.start();
+        };
+        return CompletableFuture.runAsync(() -> insertHistory(past), historyLoader);
+    }
+
+    private void insertLoaded(List<Booking> bookings) {
+        if (persistence.loadsAcceptedBookings()) {
+            repository.restoreBookings(bookings); // Checked when they were created, e.g. journal snapshots
+            return;
+        }
+        for (Booking booking : bookings) {
             repository.addBooking(booking);
         }
     }
+
+    /**
+     * Past bookings cannot collide with requests made meanwhile, because those wait for the history.
+     * A conflict within the file itself only skips that booking, as there is no caller to report to.
+     */
+    private void insertHistory(List<Booking> past) {
+        if (persistence.loadsAcceptedBookings()) {
+            repository.restoreBookings(past);
+        } else {
+            for (Booking booking : past) {
+                try {
+                    repository.addBooking(booking);
+                } catch (BookingConflictException e) {
+                    log.error("Skipping conflicting past booking: {}", booking);
+                }
+            }
+        }
+        log.info("{} past bookings loaded.", past.size());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package ait.de.core;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-item result of a batch booking import, in the order the bookings were submitted.
+ */
+public class ImportReport {
+    private final List<Item> items = new ArrayList<>();
+    private final int[] counts = new int[BookingOutcome.values().length];
+
+    /**
+     * Result for a single booking of the batch.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private final Booking booking;
+        private final BookingOutcome outcome;
+        private final String message; // Reason for a rejection, null if created
+
+        @Override
+        public String toString() {
+            return outcome + (message == null ? "" : " (" + message + ")") + ": " + booking;
+        }
+    }
+
+    void add(Booking booking, BookingOutcome outcome, String message) {
+        items.add(new Item(booking, outcome, message));
+        counts[outcome.ordinal()]++;
+    }
+
+    /**
+     * @return All items in submission order.
+     */
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * @return Number of items with the given outcome.
+     */
+    public int count(BookingOutcome outcome) {
+        return counts[outcome.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{created=" + count(BookingOutcome.CREATED) +
+                ", conflicts=" + count(BookingOutcome.CONFLICT) +
+                ", invalid=" + (count(BookingOutcome.INVALID_TABLE) + count(BookingOutcome.INVALID_TIME)) + '}';
+    }
+}
@@ -0,0 +1,124 @@
+package ait.de.core;
+
+import ait.de.model.Booking;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Routes requests to the booking services of several restaurants.
+ * <p>
+ * Every restaurant is a shard with its own {@link BookingService}, repository, persistence and files,
+ * so bookings of one restaurant never wait for locks or disk writes of another. Single-restaurant requests
+ * go to {@link #restaurant(String)}; queries across restaurants, such as reports and customer lookups,
+ * run on all shards in parallel and are merged per restaurant.
+ * <p>
+ * Booking IDs come from one counter per JVM, so they are unique across the restaurants of a router.
+ */
+@Slf4j
+public class RestaurantRouter {
+    private final Map<String, BookingService> restaurants; // restaurantId -> service, in configuration order
+    private final ExecutorService fanOut;
+
+    /**
+     * @param restaurants Booking service of every restaurant by restaurant ID.
+     * @throws IllegalArgumentException if there are no restaurants.
+     */
+    public RestaurantRouter(Map<String, BookingService> restaurants) {
+        if (restaurants.isEmpty()) {
+            throw new IllegalArgumentException("A router needs at least one restaurant.");
+        }
+        this.restaurants = Collections.unmodifiableMap(new LinkedHashMap<>(restaurants));
+        AtomicInteger counter = new AtomicInteger();
+        // One thread per restaurant: a query may wait for history loading or archive reads of its shard
+        this.fanOut = Executors.newFixedThreadPool(restaurants.size(), task -> {
+            Thread thread = new Thread(task, "restaurant-fanout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return IDs of all restaurants, in configuration order.
+     */
+    public Set<String> getRestaurantIds() {
+        return restaurants.keySet();
+    }
+
+    public Optional<BookingService> findRestaurant(String restaurantId) {
+        return Optional.ofNullable(restaurants.get(restaurantId));
+    }
+
+    /**
+     * @return Booking service of the restaurant.
+     * @throws IllegalArgumentException if there is no such restaurant.
+     */
+    public BookingService restaurant(String restaurantId) {
+        BookingService service = restaurants.get(restaurantId);
+        if (service == null) {
+            throw new IllegalArgumentException("Unknown restaurant: " + restaurantId);
+        }
+        return service;
+    }
+
+    /**
+     * Runs a query on every restaurant in parallel and waits for all of them.
+     *
+     * @param query Query against one restaurant's service.
+     * @return Result of every restaurant by restaurant ID, in configuration order.
+     * @throws RuntimeException thrown by the query for any restaurant, after all of them have finished.
+     */
+    public <T> Map<String, T> fanOut(Function<BookingService, T> query) {
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        restaurants.forEach((id, service) -> futures.put(id, CompletableFuture.supplyAsync(() -> query.apply(service), fanOut)));
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        futures.forEach((id, future) -> results.put(id, future.join()));
+        return results;
+    }
+
+    /**
+     * Retrieves the bookings of all restaurants that overlap the given interval, e.g. for a report.
+     *
+     * @return Bookings of every restaurant, ordered by start time.
+     */
+    public Map<String, List<Booking>> findBookings(LocalDateTime from, LocalDateTime to) {
+        return fanOut(service -> service.findBookings(from, to));
+    }
+
+    /**
+     * Looks a customer up in all restaurants.
+     *
+     * @return Bookings of the customer in every restaurant, ordered by ID; empty lists where there are none.
+     */
+    public Map<String, List<Booking>> findCustomerBookings(String customerName) {
+        return fanOut(service -> service.findCustomerBookings(customerName));
+    }
+
+    /**
+     * Closes the services of all restaurants and stops the fan-out threads.
+     */
+    public void close() {
+        restaurants.forEach((id, service) -> {
+            service.close();
+            log.info("Restaurant {} closed.", id);
+        });
+        fanOut.shutdown();
+    }
+}
@@ -0,0 +1,138 @@
+package ait.de.core;
+
+import ait.de.model.Table;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The tables of a venue, indexed for best-fit assignment.
+ * <p>
+ * Regular and VIP tables are kept apart, each grouped into buckets by capacity. A search for a party
+ * starts at the smallest bucket that seats it and walks up, so the tables too small for the party are
+ * never looked at and the first free table found is the smallest one that fits. Within a bucket tables
+ * are ordered by ID. The catalog is immutable and safe to share between threads.
+ */
+public class TableCatalog {
+    private static final int DEFAULT_TABLES = 10;
+    private static final TableCatalog DEFAULT = new TableCatalog(
+            IntStream.rangeClosed(1, DEFAULT_TABLES).mapToObj(id -> new Table(id, false)).collect(Collectors.toList()));
+
+    private final NavigableMap<Integer, Table> tables = new TreeMap<>(); // tableId -> table
+    private final NavigableMap<Integer, Table[]> regularByCapacity = new TreeMap<>(); // capacity -> tables by ID
+    private final NavigableMap<Integer, Table[]> vipByCapacity = new TreeMap<>();
+    private final String invalidTableMessage;
+    private final String idRange;
+
+    /**
+     * @param tables Tables of the venue.
+     * @throws IllegalArgumentException if there are no tables or two tables share an ID.
+     */
+    public TableCatalog(Collection<Table> tables) {
+        if (tables.isEmpty()) {
+            throw new IllegalArgumentException("A table catalog needs at least one table.");
+        }
+        Map<Integer, List<Table>> regular = new TreeMap<>();
+        Map<Integer, List<Table>> vip = new TreeMap<>();
+        for (Table table : tables) {
+            if (this.tables.putIfAbsent(table.getTableId(), table) != null) {
+                throw new IllegalArgumentException("Duplicate table ID: " + table.getTableId());
+            }
+            (table.isVip() ? vip : regular).computeIfAbsent(table.getCapacity(), capacity -> new ArrayList<>()).add(table);
+        }
+        index(regular, regularByCapacity);
+        index(vip, vipByCapacity);
+        int lowest = this.tables.firstKey();
+        int highest = this.tables.lastKey();
+        boolean contiguous = highest - lowest + 1 == this.tables.size();
+        this.idRange = lowest + "-" + highest;
+        this.invalidTableMessage = contiguous
+                ? "Table number must be between " + lowest + " and " + highest + "!"
+                : "Unknown table number!";
+    }
+
+    private static void index(Map<Integer, List<Table>> buckets, NavigableMap<Integer, Table[]> index) {
+        buckets.forEach((capacity, bucket) -> {
+            bucket.sort(Comparator.comparingInt(Table::getTableId));
+            index.put(capacity, bucket.toArray(new Table[0]));
+        });
+    }
+
+    /**
+     * @return Catalog of the original layout: regular tables 1 to 10, each seating as many guests as its number.
+     */
+    public static TableCatalog defaultCatalog() {
+        return DEFAULT;
+    }
+
+    public boolean contains(int tableId) {
+        return tables.containsKey(tableId);
+    }
+
+    public Optional<Table> getTable(int tableId) {
+        return Optional.ofNullable(tables.get(tableId));
+    }
+
+    /**
+     * @return All tables ordered by ID.
+     */
+    public Collection<Table> getTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * @return Lowest and highest table ID, e.g. {@code 1-10}.
+     */
+    public String getIdRange() {
+        return idRange;
+    }
+
+    /**
+     * @return Message for a table ID that is not in the catalog.
+     */
+    public String getInvalidTableMessage() {
+        return invalidTableMessage;
+    }
+
+    /**
+     * Finds the smallest accepted table that seats the party: the lowest capacity first, then the lowest ID.
+     *
+     * @param partySize Number of guests.
+     * @param vip       true to search VIP tables, false to search regular tables.
+     * @param accepted  Tells whether a table can be used, e.g. whether it is free; called in best-fit order.
+     * @return The first accepted table, or empty if no table of the kind fits and is accepted.
+     */
+    public Optional<Table> findSmallest(int partySize, boolean vip, IntPredicate accepted) {
+        NavigableMap<Integer, Table[]> index = vip ? vipByCapacity : regularByCapacity;
+        for (Table[] bucket : index.tailMap(partySize, true).values()) {
+            for (Table table : bucket) {
+                if (accepted.test(table.getTableId())) {
+                    return Optional.of(table);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return Capacity of the largest table of the kind, or 0 if there is none.
+     */
+    public int getMaxCapacity(boolean vip) {
+        NavigableMap<Integer, Table[]> index = vip ? vipByCapacity : regularByCapacity;
+        return index.isEmpty() ? 0 : index.lastKey();
+    }
+}
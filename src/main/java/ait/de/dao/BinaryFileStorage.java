@@ -0,0 +1,169 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manages persistent storage of bookings in a compact fixed-width binary file.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header:  int magic, int version, int recordCount, int namesOffset
+ * record:  int id, int tableId, int startEpochMinute, int endEpochMinute,
+ *          int statusOrdinal, int nameOffset, int nameLength      (28 bytes each)
+ * names:   UTF-8 bytes of all distinct customer names
+ * </pre>
+ * Times are stored as minutes since 1970-01-01T00:00, the same precision as the CSV file.
+ * Files are read through a memory map, so no text parsing happens on load.
+ */
+@Slf4j
+public class BinaryFileStorage {
+    private static final int MAGIC = 0x424B4E47; // "BKNG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 28;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    /**
+     * Saves a list of bookings to a binary file.
+     * The file is written next to the target and then moved over it, so readers never see a partial file.
+     *
+     * @param bookings List of bookings to be saved.
+     * @param file     Path of the binary file.
+     * @return true if the file was replaced, false if writing failed and the previous file is unchanged.
+     */
+    public static boolean saveToFile(List<Booking> bookings, Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Integer> nameOffsets = new HashMap<>();
+        ByteArrayOutputStream names = new ByteArrayOutputStream();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(bookings.size());
+                out.writeInt(Math.toIntExact(HEADER_SIZE + (long) bookings.size() * RECORD_SIZE));
+                for (Booking booking : bookings) {
+                    byte[] name = booking.getCustomerName().getBytes(StandardCharsets.UTF_8);
+                    Integer nameOffset = nameOffsets.get(booking.getCustomerName());
+                    if (nameOffset == null) { // Repeated customer names are stored once
+                        nameOffset = names.size();
+                        nameOffsets.put(booking.getCustomerName(), nameOffset);
+                        names.write(name);
+                    }
+                    out.writeInt(booking.getId());
+                    out.writeInt(booking.getTableId());
+                    out.writeInt(toEpochMinute(booking.getStartDateTime()));
+                    out.writeInt(toEpochMinute(booking.getEndDateTime()));
+                    out.writeInt(booking.getStatus().ordinal());
+                    out.writeInt(nameOffset);
+                    out.writeInt(name.length);
+                }
+                names.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Bookings successfully saved to binary file: {}", file);
+            return true;
+        } catch (IOException e) {
+            log.error("Error writing to binary file: {}", file, e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException deleteError) {
+                e.addSuppressed(deleteError);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Loads bookings from a binary file through a memory map.
+     * Bookings keep the IDs they were saved with.
+     *
+     * @param file Path of the binary file.
+     * @return List of loaded bookings.
+     */
+    public static List<Booking> loadFromFile(Path file) {
+        if (!Files.exists(file)) {
+            log.warn("Binary booking file does not exist: {}", file);
+            return new ArrayList<>();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<Booking> bookings = readBookings(buffer, file);
+            log.info("Bookings successfully loaded from binary file: {}", file);
+            return bookings;
+        } catch (IOException | RuntimeException e) {
+            log.error("Error reading binary file: {}", file, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private static List<Booking> readBookings(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a booking file of version " + VERSION + ": " + file);
+        }
+        int count = buffer.getInt(8);
+        int namesOffset = buffer.getInt(12);
+        if (count < 0 || namesOffset != HEADER_SIZE + (long) count * RECORD_SIZE || namesOffset > buffer.limit()) {
+            throw new IOException("Corrupted booking file header: " + file);
+        }
+        List<Booking> bookings = new ArrayList<>(count);
+        Map<Integer, String> names = new HashMap<>(); // Decode every distinct name once
+        byte[] nameBytes = new byte[64];
+        for (int i = 0, position = HEADER_SIZE; i < count; i++, position += RECORD_SIZE) {
+            int id = buffer.getInt(position);
+            int tableId = buffer.getInt(position + 4);
+            int start = buffer.getInt(position + 8);
+            int end = buffer.getInt(position + 12);
+            int status = buffer.getInt(position + 16);
+            int nameOffset = buffer.getInt(position + 20);
+            int nameLength = buffer.getInt(position + 24);
+            try {
+                String name = names.get(nameOffset);
+                if (name == null) {
+                    if (nameLength > nameBytes.length) {
+                        nameBytes = new byte[nameLength];
+                    }
+                    buffer.get(namesOffset + nameOffset, nameBytes, 0, nameLength);
+                    name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+                    names.put(nameOffset, name);
+                }
+                bookings.add(new Booking(id, tableId, fromEpochMinute(start), fromEpochMinute(end), name, STATUSES[status]));
+            } catch (RuntimeException e) {
+                log.error("Error reading booking record #{} from {}", i, file, e);
+            }
+        }
+        return bookings;
+    }
+
+    static int toEpochMinute(LocalDateTime dateTime) {
+        return Math.toIntExact(Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    static LocalDateTime fromEpochMinute(int epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+}
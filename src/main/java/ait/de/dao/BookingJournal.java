@@ -0,0 +1,406 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import ait.de.utilities.DurabilityMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Append-only write-ahead journal of booking mutations.
+ * <p>
+ * Every create or cancel appends a single line, so the write cost does not depend on how many
+ * bookings exist. On startup the journal is replayed from the beginning to rebuild the current state.
+ * <p>
+ * Record format:
+ * <pre>
+ * C,id,tableId,dd.MM.yyyy HH:mm,dd.MM.yyyy HH:mm,status,customerName
+ * X,id
+ * </pre>
+ * The customer name is the last field, so it may contain commas.
+ * <p>
+ * When a record reaches the disk is defined by the {@link DurabilityMode}; the default is
+ * {@link DurabilityMode#SYNC}, which forces every record before the call returns.
+ * <p>
+ * A checkpoint keeps the journal short: the current journal is renamed to a {@code .old} segment,
+ * new records go to a fresh journal, the current bookings are written to a binary {@code .snapshot}
+ * file (see {@link BinaryFileStorage}) and the old segment is deleted. Startup reads the snapshot
+ * and replays the old segment, if a checkpoint was interrupted, and the current journal. Replaying
+ * is idempotent per booking ID, so records that are also contained in the snapshot do no harm.
+ */
+@Slf4j
+public class BookingJournal implements BookingPersistence {
+    private static final String DEFAULT_FILE_NAME = FileStorage.DIRECTORY + "/bookings.journal";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final String CREATED = "C";
+    private static final String CANCELED = "X";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String OLD_SEGMENT_SUFFIX = ".old";
+
+    private final Path file;
+    private final DurabilityMode mode;
+    private final Duration maxDelay;
+    private final Path snapshotFile;
+    private final Path oldSegment;
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock(); // Appends share it, rotation is exclusive
+    private final AtomicInteger recordsSinceCheckpoint = new AtomicInteger();
+    private final AtomicBoolean checkpointScheduled = new AtomicBoolean();
+    private final Object checkpointLock = new Object();
+    private GroupCommitWriter writer;
+    private Supplier<List<Booking>> currentBookings; // Set when automatic checkpoints are enabled
+    private int recordsPerCheckpoint;
+    private ExecutorService checkpointer;
+    private boolean closed; // Guarded by this; a closed journal is never reopened
+
+    /**
+     * Creates a journal in the default storage directory.
+     */
+    public BookingJournal() {
+        this(Paths.get(DEFAULT_FILE_NAME));
+    }
+
+    /**
+     * Creates a journal in the default storage directory with the given durability.
+     */
+    public BookingJournal(DurabilityMode mode, Duration maxDelay) {
+        this(Paths.get(DEFAULT_FILE_NAME), mode, maxDelay);
+    }
+
+    /**
+     * @param file Path of the journal file.
+     */
+    public BookingJournal(Path file) {
+        this(file, DurabilityMode.SYNC, Duration.ZERO);
+    }
+
+    /**
+     * @param file     Path of the journal file.
+     * @param mode     When records are forced to disk.
+     * @param maxDelay How long a group commit may wait for more records; ignored by other modes.
+     */
+    public BookingJournal(Path file, DurabilityMode mode, Duration maxDelay) {
+        this.file = file;
+        this.mode = mode;
+        this.maxDelay = maxDelay;
+        this.snapshotFile = file.resolveSibling(file.getFileName() + SNAPSHOT_SUFFIX);
+        this.oldSegment = file.resolveSibling(file.getFileName() + OLD_SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Takes a checkpoint in the background whenever the given number of records has been appended since the last one.
+     *
+     * @param currentBookings      Source of all current bookings, written to the snapshot.
+     * @param recordsPerCheckpoint Number of appended records that triggers a checkpoint.
+     */
+    public synchronized void enableCheckpoints(Supplier<List<Booking>> currentBookings, int recordsPerCheckpoint) {
+        if (recordsPerCheckpoint <= 0) {
+            throw new IllegalArgumentException("Records per checkpoint must be positive.");
+        }
+        this.currentBookings = currentBookings;
+        this.recordsPerCheckpoint = recordsPerCheckpoint;
+        if (checkpointer == null) {
+            checkpointer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "booking-journal-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Replays the journal and opens it for appending.
+     *
+     * @return List of bookings that were created and not canceled, in creation order.
+     */
+    @Override
+    public synchronized List<Booking> load() {
+        Map<Integer, Booking> bookings = new LinkedHashMap<>();
+        if (Files.exists(snapshotFile)) {
+            for (Booking booking : BinaryFileStorage.loadFromFile(snapshotFile)) {
+                bookings.put(booking.getId(), booking);
+            }
+        }
+        if (Files.exists(oldSegment)) {
+            replayFile(oldSegment, bookings); // Left behind by an interrupted checkpoint
+        }
+        if (Files.exists(file)) {
+            replayFile(file, bookings);
+            log.info("Restored {} bookings from journal: {}", bookings.size(), file);
+        } else {
+            log.warn("Journal does not exist. A new one will be created: {}", file);
+        }
+        open();
+        return new ArrayList<>(bookings.values());
+    }
+
+    /**
+     * Bookings in the journal were all accepted by the repository when they were recorded.
+     */
+    @Override
+    public boolean loadsAcceptedBookings() {
+        return true;
+    }
+
+    /**
+     * Writes a snapshot of the given bookings and drops the journal records it makes redundant.
+     * <p>
+     * The journal is switched to a new segment before the bookings are read, so every mutation
+     * missing from the snapshot is in the new segment. Appends wait only for the switch, not for the snapshot.
+     * The old segment is deleted only after the snapshot is in place; if writing it fails, the old segment
+     * is kept and replayed on the next load.
+     *
+     * @param bookings Source of all current bookings.
+     */
+    public void checkpoint(Supplier<List<Booking>> bookings) {
+        synchronized (checkpointLock) { // One checkpoint at a time
+            segmentLock.writeLock().lock();
+            try {
+                rotate();
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+            if (!BinaryFileStorage.saveToFile(bookings.get(), snapshotFile)) {
+                log.error("Journal checkpoint failed, keeping old segment: {}", oldSegment);
+                return;
+            }
+            try {
+                Files.deleteIfExists(oldSegment);
+                log.info("Journal checkpoint written: {}", snapshotFile);
+            } catch (IOException e) {
+                log.error("Error deleting old journal segment: {}", oldSegment, e);
+            }
+        }
+    }
+
+    @Override
+    public void bookingCreated(Booking booking) {
+        append(createdRecord(booking), 1);
+    }
+
+    /**
+     * Appends the records of the whole batch with a single write.
+     */
+    @Override
+    public void bookingsCreated(List<Booking> bookings) {
+        StringBuilder records = new StringBuilder();
+        for (Booking booking : bookings) {
+            if (records.length() > 0) {
+                records.append('\n');
+            }
+            records.append(createdRecord(booking));
+        }
+        append(records.toString(), bookings.size());
+    }
+
+    @Override
+    public void bookingCanceled(Booking booking) {
+        append(CANCELED + "," + booking.getId(), 1);
+    }
+
+    /**
+     * Waits for a running checkpoint and closes the journal. Later mutations are rejected.
+     */
+    @Override
+    public void close() {
+        ExecutorService runningCheckpointer;
+        synchronized (this) {
+            closed = true;
+            runningCheckpointer = checkpointer;
+            checkpointer = null;
+        }
+        if (runningCheckpointer != null) {
+            runningCheckpointer.shutdown();
+            try {
+                runningCheckpointer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        segmentLock.writeLock().lock();
+        try {
+            closeWriter();
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+    }
+
+    private synchronized void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Error closing journal: {}", file, e);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Moves the current journal to the old segment and starts a new one.
+     * If the old segment is still there after an interrupted checkpoint, the journal keeps growing
+     * instead: the next snapshot covers both, and the old segment is older anyway.
+     */
+    private synchronized void rotate() {
+        closeWriter();
+        recordsSinceCheckpoint.set(0);
+        if (Files.exists(file) && !Files.exists(oldSegment)) {
+            try {
+                Files.move(file, oldSegment, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.error("Error rotating journal: {}", file, e);
+            }
+        }
+        if (!closed) { // A checkpoint after close must not restart the writer
+            open();
+        }
+    }
+
+    private static String createdRecord(Booking booking) {
+        return CREATED + "," + booking.getId() + "," +
+                booking.getTableId() + "," +
+                booking.getStartDateTime().format(FORMATTER) + "," +
+                booking.getEndDateTime().format(FORMATTER) + "," +
+                booking.getStatus() + "," +
+                booking.getCustomerName();
+    }
+
+    private void open() {
+        if (writer != null) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            writer = new GroupCommitWriter(channel, mode, maxDelay);
+        } catch (IOException e) {
+            log.error("Error opening journal: {}", file, e);
+        }
+    }
+
+    /**
+     * Appends records according to the durability mode.
+     * Holds only the shared side of the segment lock, so concurrent callers can share one group commit.
+     *
+     * @throws IllegalStateException if the journal has been closed.
+     */
+    private void append(String records, int count) {
+        segmentLock.readLock().lock();
+        try {
+            GroupCommitWriter current;
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Journal is closed: " + file);
+                }
+                open();
+                current = writer;
+            }
+            if (current == null) {
+                return;
+            }
+            write(current, records);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        scheduleCheckpointIfDue(count);
+    }
+
+    private void write(GroupCommitWriter current, String records) {
+        try {
+            current.write((records + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (UncheckedIOException | IllegalStateException e) {
+            log.error("Error writing to journal: {}", file, e);
+        }
+    }
+
+    private void scheduleCheckpointIfDue(int count) {
+        Supplier<List<Booking>> bookings;
+        ExecutorService executor;
+        int threshold;
+        synchronized (this) {
+            bookings = currentBookings;
+            executor = checkpointer;
+            threshold = recordsPerCheckpoint;
+        }
+        if (executor == null || recordsSinceCheckpoint.addAndGet(count) < threshold
+                || !checkpointScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    checkpoint(bookings);
+                } catch (RuntimeException e) {
+                    log.error("Error taking journal checkpoint: {}", file, e);
+                } finally {
+                    checkpointScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            checkpointScheduled.set(false); // Journal is closing
+        }
+    }
+
+    private static void replayFile(Path segment, Map<Integer, Booking> bookings) {
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                replay(line, bookings);
+            }
+        } catch (IOException e) {
+            log.error("Error reading journal: {}", segment, e);
+        }
+    }
+
+    /**
+     * Applies one journal record. Replaying is idempotent per booking ID.
+     */
+    private static void replay(String line, Map<Integer, Booking> bookings) {
+        String[] parts = line.split(",", 7);
+        try {
+            if (parts.length == 7 && CREATED.equals(parts[0])) {
+                int id = Integer.parseInt(parts[1]);
+                int tableId = Integer.parseInt(parts[2]);
+                LocalDateTime startDateTime = LocalDateTime.parse(parts[3], FORMATTER);
+                LocalDateTime endDateTime = LocalDateTime.parse(parts[4], FORMATTER);
+                BookingStatus status = BookingStatus.valueOf(parts[5]);
+                bookings.put(id, new Booking(id, tableId, startDateTime, endDateTime, parts[6], status));
+            } else if (parts.length == 2 && CANCELED.equals(parts[0])) {
+                bookings.remove(Integer.parseInt(parts[1]));
+            } else {
+                log.warn("Invalid journal record: {}", line);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error replaying journal record: {}", line, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface for persisting booking mutations made by the booking service.
+ */
+public interface BookingPersistence {
+
+    /**
+     * Loads the persisted bookings on startup.
+     *
+     * @return List of the bookings that are currently stored.
+     */
+    List<Booking> load();
+
+    /**
+     * Tells whether {@link #load()} returns only bookings that were accepted by a repository before,
+     * so they can be restored without conflict checks. False by default, e.g. for a user-editable file.
+     *
+     * @return true if loaded bookings need no re-validation.
+     */
+    default boolean loadsAcceptedBookings() {
+        return false;
+    }
+
+    /**
+     * Tells whether writes replace stored data with what the repository currently holds.
+     * Such a persistence must not write before all bookings are loaded. False by default.
+     *
+     * @return true if writes rewrite stored bookings from the repository.
+     */
+    default boolean savesAllBookings() {
+        return false;
+    }
+
+    /**
+     * Loads archived bookings that overlap the given interval and are not kept in the repository.
+     * They are read-only copies. Nothing is archived by default.
+     *
+     * @param from Start of the interval (inclusive).
+     * @param to   End of the interval (exclusive).
+     * @return Archived bookings overlapping the interval, in no particular order.
+     */
+    default List<Booking> loadArchived(LocalDateTime from, LocalDateTime to) {
+        return List.of();
+    }
+
+    /**
+     * Persists a newly created booking.
+     *
+     * @param booking The booking that was created.
+     */
+    void bookingCreated(Booking booking);
+
+    /**
+     * Persists a batch of newly created bookings.
+     *
+     * @param bookings The bookings that were created.
+     */
+    default void bookingsCreated(List<Booking> bookings) {
+        bookings.forEach(this::bookingCreated);
+    }
+
+    /**
+     * Persists the cancellation of a booking.
+     *
+     * @param booking The booking that was canceled.
+     */
+    void bookingCanceled(Booking booking);
+
+    /**
+     * Releases any open files. Does nothing by default.
+     */
+    default void close() {
+    }
+}
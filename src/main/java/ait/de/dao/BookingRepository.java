@@ -1,10 +1,15 @@
 package ait.de.dao;
 
 import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Interface for managing booking storage operations.
@@ -18,6 +23,31 @@ public interface BookingRepository {
      */
     List<Booking> getAllBookings();
 
+    /**
+     * Streams all bookings ordered by ID without collecting them first.
+     * The default implementation streams a copy; implementations with an ID-ordered index should override it.
+     *
+     * @return Stream of all bookings.
+     */
+    default Stream<Booking> streamBookings() {
+        return getAllBookings().stream();
+    }
+
+    /**
+     * Retrieves one page of bookings ordered by ID.
+     * Pass 0 for the first page and the ID of the last booking of a page for the next one.
+     *
+     * @param afterId Only bookings with a greater ID are returned.
+     * @param limit   Maximum number of bookings in the page.
+     * @return Up to {@code limit} bookings; an empty list after the last page.
+     */
+    default List<Booking> getBookingsPage(int afterId, int limit) {
+        return streamBookings()
+                .filter(booking -> booking.getId() > afterId)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Retrieves a booking by its ID.
      *
@@ -34,6 +64,50 @@ public interface BookingRepository {
      */
     void addBooking(Booking newBooking);
 
+    /**
+     * Adds a new booking only if it does not conflict with existing ones for the same table.
+     * The check and the insert happen as one atomic step.
+     *
+     * @param newBooking The booking to be added.
+     * @return true if the booking was added, false if there is a conflict.
+     */
+    default boolean tryAddBooking(Booking newBooking) {
+        synchronized (this) {
+            if (hasConflict(newBooking.getTableId(), newBooking.getStartDateTime(), newBooking.getEndDateTime())) {
+                return false;
+            }
+            addBooking(newBooking);
+            return true;
+        }
+    }
+
+    /**
+     * Finds a booking of the table that blocks the given interval, under the same rules as {@link #hasConflict}.
+     * The default implementation scans all bookings for one that overlaps or starts at the same time.
+     *
+     * @param tableId       The ID of the table.
+     * @param startDateTime The start time of the new booking.
+     * @param endDateTime   The end time of the new booking.
+     * @return The blocking booking, or empty if the time is free.
+     */
+    default Optional<Booking> findConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return getAllBookings().stream()
+                .filter(booking -> booking.getTableId() == tableId
+                        && (booking.getStartDateTime().equals(startDateTime)
+                        || booking.getStartDateTime().isBefore(endDateTime) && startDateTime.isBefore(booking.getEndDateTime())))
+                .findFirst();
+    }
+
+    /**
+     * Restores bookings that were accepted before, e.g. from a snapshot, skipping checks where possible.
+     * The default implementation adds them one by one with the usual conflict check.
+     *
+     * @param restoredBookings Bookings to be restored.
+     */
+    default void restoreBookings(Collection<Booking> restoredBookings) {
+        restoredBookings.forEach(this::addBooking);
+    }
+
     /**
      * Removes a booking by its ID.
      *
@@ -41,6 +115,30 @@ public interface BookingRepository {
      */
     void removeBooking(int bookingId);
 
+    /**
+     * Cancels a booking. Implementations may keep it in place as a tombstone with status
+     * {@link ait.de.utilities.BookingStatus#CANCELED}, which conflict checks and queries skip, until
+     * {@link #purgeCanceled()} removes it. The default implementation removes the booking right away.
+     *
+     * @param bookingId The ID of the booking to be canceled.
+     * @return The canceled booking, or empty if there is no active booking with this ID.
+     */
+    default Optional<Booking> cancelBooking(int bookingId) {
+        Optional<Booking> booking = getBookingById(bookingId);
+        booking.ifPresent(active -> removeBooking(bookingId));
+        return booking.map(active -> active.withStatus(BookingStatus.CANCELED));
+    }
+
+    /**
+     * Removes the tombstones left by {@link #cancelBooking(int)} from the indexes.
+     * The default implementation keeps no tombstones and returns an empty list.
+     *
+     * @return Bookings canceled since the previous purge, in the order they were canceled.
+     */
+    default List<Booking> purgeCanceled() {
+        return List.of();
+    }
+
     /**
      * Checks if a new booking conflicts with existing ones for the same table.
      *
@@ -50,4 +148,38 @@ public interface BookingRepository {
      * @return true if there is a conflict, false otherwise.
      */
     boolean hasConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the bookings of all tables that overlap the given interval, ordered by start time and then by ID.
+     * The default implementation scans all bookings; implementations with a sorted index should override it.
+     *
+     * @param from Start of the interval (inclusive).
+     * @param to   End of the interval (exclusive).
+     * @return Bookings overlapping the interval.
+     */
+    default List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+        return streamBookings()
+                .filter(booking -> booking.getStartDateTime().isBefore(to)
+                        && from.isBefore(booking.getEndDateTime()))
+                .sorted(Comparator.comparing(Booking::getStartDateTime).thenComparingInt(Booking::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the bookings of a table that overlap the given interval, ordered by start time.
+     * The default implementation scans all bookings; implementations with a sorted index should override it.
+     *
+     * @param tableId The ID of the table.
+     * @param from    Start of the interval (inclusive).
+     * @param to      End of the interval (exclusive).
+     * @return Bookings of the table overlapping the interval.
+     */
+    default List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+        return getAllBookings().stream()
+                .filter(booking -> booking.getTableId() == tableId
+                        && booking.getStartDateTime().isBefore(to)
+                        && from.isBefore(booking.getEndDateTime()))
+                .sorted(Comparator.comparing(Booking::getStartDateTime))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,320 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fast loader for the CSV booking file written by {@link FileStorage}.
+ * <p>
+ * The file is memory-mapped and cut into line-aligned byte ranges that are parsed in parallel on the
+ * fork-join pool. Each line is scanned byte by byte: no regex split, no substrings except the customer
+ * name, and dates in the fixed {@code dd.MM.yyyy HH:mm} pattern are decoded without a formatter.
+ * <p>
+ * Any line the fast path does not fully understand (wrong field count, unusual numbers or dates,
+ * invalid values) is handed to {@link FileStorage#parseBooking(String)}, so the result and the log
+ * output are the same as reading the file line by line. Bookings are created sequentially in file
+ * order after parsing, so they get the same IDs as with the line-by-line reader.
+ */
+class CsvBookingLoader {
+    private static final int CHUNK_SIZE = 1 << 20; // Bytes per parallel task
+    private static final int DATE_TIME_LENGTH = 16; // dd.MM.yyyy HH:mm
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final byte[][] STATUS_NAMES = Arrays.stream(STATUSES)
+            .map(status -> status.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+    private static final LocalTime[] TIMES = IntStream.range(0, 24 * 60) // One shared instance per minute of the day
+            .mapToObj(minute -> LocalTime.of(minute / 60, minute % 60))
+            .toArray(LocalTime[]::new);
+
+    /**
+     * Tells whether the fast loader can read files in the given charset.
+     * Its byte-level scanner needs commas and line breaks to be single ASCII bytes.
+     */
+    static boolean supports(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Loads all bookings of the file.
+     *
+     * @param file    Path of the CSV file.
+     * @param charset Charset the file was written with.
+     * @return List of loaded bookings in file order.
+     * @throws IOException if the file cannot be read or is too large to be mapped.
+     */
+    static List<Booking> load(Path file, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] bounds = chunkBounds(buffer);
+            IntStream chunks = IntStream.range(0, bounds.length - 1);
+            if (bounds.length > 2) {
+                chunks = chunks.parallel();
+            }
+            List<Chunk> parsed = chunks
+                    .mapToObj(i -> new Chunk(buffer, bounds[i], bounds[i + 1], charset))
+                    .collect(Collectors.toList()); // Keeps file order
+            List<Booking> bookings = new ArrayList<>(parsed.stream().mapToInt(chunk -> chunk.count).sum());
+            for (Chunk chunk : parsed) {
+                chunk.createBookings(bookings);
+            }
+            return bookings;
+        }
+    }
+
+    /**
+     * Splits the buffer into ranges of about {@link #CHUNK_SIZE} bytes that start at line beginnings.
+     */
+    private static int[] chunkBounds(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int position = CHUNK_SIZE;
+        while (position < limit) {
+            while (position < limit && !isLineBreak(buffer.get(position))) {
+                position++;
+            }
+            position = skipLineBreak(buffer, position, limit);
+            if (position < limit) {
+                bounds.add(position);
+            }
+            position += CHUNK_SIZE;
+        }
+        bounds.add(limit);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Moves past a line break, treating {@code \r\n} as one, like {@link java.io.BufferedReader#readLine()}.
+     */
+    private static int skipLineBreak(ByteBuffer buffer, int position, int limit) {
+        if (position < limit && buffer.get(position) == '\r') {
+            position++;
+            if (position < limit && buffer.get(position) == '\n') {
+                position++;
+            }
+        } else if (position < limit) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Parsed lines of one byte range. A line is either fully decoded fields or, for the slow path, its raw text.
+     */
+    private static final class Chunk {
+        private final ByteBuffer buffer;
+        private final Charset charset;
+        private int count;
+        private int[] tableIds = new int[256];
+        private LocalDateTime[] starts = new LocalDateTime[256];
+        private LocalDateTime[] ends = new LocalDateTime[256];
+        private String[] names = new String[256];
+        private BookingStatus[] statuses = new BookingStatus[256];
+        private String[] rawLines = new String[256]; // Set only for lines that need the slow path
+        private int lastDateKey = -1; // Consecutive lines usually share a date
+        private LocalDate lastDate;
+
+        Chunk(ByteBuffer buffer, int from, int to, Charset charset) {
+            this.buffer = buffer;
+            this.charset = charset;
+            int position = from;
+            while (position < to) {
+                int end = position;
+                while (end < to && !isLineBreak(buffer.get(end))) {
+                    end++;
+                }
+                parseLine(position, end);
+                position = skipLineBreak(buffer, end, to);
+            }
+        }
+
+        void createBookings(List<Booking> bookings) {
+            for (int i = 0; i < count; i++) {
+                Booking booking = rawLines[i] != null
+                        ? FileStorage.parseBooking(rawLines[i])
+                        : new Booking(tableIds[i], starts[i], ends[i], names[i], statuses[i]);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+        }
+
+        private void parseLine(int from, int to) {
+            grow();
+            // Field boundaries: tableId,start,end,name,status
+            int c1 = indexOfComma(from, to);
+            int c2 = c1 < 0 ? -1 : indexOfComma(c1 + 1, to);
+            int c3 = c2 < 0 ? -1 : indexOfComma(c2 + 1, to);
+            int c4 = c3 < 0 ? -1 : indexOfComma(c3 + 1, to);
+            if (c4 < 0 || indexOfComma(c4 + 1, to) >= 0) {
+                slowPath(from, to);
+                return;
+            }
+            int tableId = parseTableId(from, c1);
+            LocalDateTime start = parseDateTime(c1 + 1, c2);
+            LocalDateTime end = parseDateTime(c2 + 1, c3);
+            BookingStatus status = parseStatus(c4 + 1, to);
+            if (tableId <= 0 || start == null || end == null || status == null
+                    || end.isBefore(start) || isBlank(c3 + 1, c4)) {
+                slowPath(from, to);
+                return;
+            }
+            String name = decode(c3 + 1, c4);
+            if (!Booking.isValidCustomerName(name)) { // E.g. a tab, which Booking rejects
+                slowPath(from, to);
+                return;
+            }
+            tableIds[count] = tableId;
+            starts[count] = start;
+            ends[count] = end;
+            names[count] = name;
+            statuses[count] = status;
+            count++;
+        }
+
+        private void slowPath(int from, int to) {
+            rawLines[count++] = decode(from, to);
+        }
+
+        private int indexOfComma(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == ',') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Plain ASCII digits only; signs, leading zeros and long numbers go to the slow path.
+         */
+        private int parseTableId(int from, int to) {
+            int length = to - from;
+            if (length < 1 || length > 9 || buffer.get(from) == '0') {
+                return -1;
+            }
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        /**
+         * Decodes {@code dd.MM.yyyy HH:mm}. Returns null for anything that is not a plainly valid date,
+         * e.g. day 31 in a 30-day month, which the formatter would adjust instead of rejecting.
+         */
+        private LocalDateTime parseDateTime(int from, int to) {
+            if (to - from != DATE_TIME_LENGTH || buffer.get(from + 2) != '.' || buffer.get(from + 5) != '.'
+                    || buffer.get(from + 10) != ' ' || buffer.get(from + 13) != ':') {
+                return null;
+            }
+            int day = twoDigits(from);
+            int month = twoDigits(from + 3);
+            int year = twoDigits(from + 6) * 100 + twoDigits(from + 8);
+            int hour = twoDigits(from + 11);
+            int minute = twoDigits(from + 14);
+            if (day < 1 || month < 1 || month > 12 || year < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return null;
+            }
+            int dateKey = (year * 100 + month) * 100 + day;
+            if (dateKey != lastDateKey) {
+                if (day > 28 && day > Month.of(month).length(Year.isLeap(year))) {
+                    return null;
+                }
+                lastDate = LocalDate.of(year, month, day);
+                lastDateKey = dateKey;
+            }
+            return LocalDateTime.of(lastDate, TIMES[hour * 60 + minute]);
+        }
+
+        private int twoDigits(int position) {
+            int high = buffer.get(position) - '0';
+            int low = buffer.get(position + 1) - '0';
+            if (high < 0 || high > 9 || low < 0 || low > 9) {
+                return -10_000; // Fails every range check
+            }
+            return high * 10 + low;
+        }
+
+        private BookingStatus parseStatus(int from, int to) {
+            for (int s = 0; s < STATUS_NAMES.length; s++) {
+                byte[] name = STATUS_NAMES[s];
+                if (name.length != to - from) {
+                    continue;
+                }
+                int i = 0;
+                while (i < name.length && buffer.get(from + i) == name[i]) {
+                    i++;
+                }
+                if (i == name.length) {
+                    return STATUSES[s];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Same as {@code name.trim().isEmpty()}: in the supported charsets, characters up to
+         * {@code ' '} are exactly the single bytes up to {@code ' '}.
+         */
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if ((buffer.get(i) & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return new String(bytes, charset);
+        }
+
+        private void grow() {
+            if (count < tableIds.length) {
+                return;
+            }
+            int capacity = tableIds.length * 2;
+            tableIds = Arrays.copyOf(tableIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            names = Arrays.copyOf(names, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            rawLines = Arrays.copyOf(rawLines, capacity);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Persistence that rewrites the whole CSV file via {@link FileStorage} after every mutation.
+ */
+public class CsvFilePersistence implements BookingPersistence {
+    private final Supplier<Stream<Booking>> currentBookings;
+    private final Path file; // null for the default file
+
+    /**
+     * Creates a persistence for the default booking file.
+     *
+     * @param currentBookings Source of all current bookings, streamed to the file on every mutation.
+     */
+    public CsvFilePersistence(Supplier<Stream<Booking>> currentBookings) {
+        this(currentBookings, null);
+    }
+
+    /**
+     * @param currentBookings Source of all current bookings, streamed to the file on every mutation.
+     * @param file            Path of the CSV file, e.g. in a restaurant's directory.
+     */
+    public CsvFilePersistence(Supplier<Stream<Booking>> currentBookings, Path file) {
+        this.currentBookings = currentBookings;
+        this.file = file;
+    }
+
+    @Override
+    public List<Booking> load() {
+        return file == null ? FileStorage.loadFromFile() : FileStorage.loadFromFile(file);
+    }
+
+    @Override
+    public boolean savesAllBookings() {
+        return true;
+    }
+
+    private void save() {
+        if (file == null) {
+            FileStorage.saveToFile(currentBookings.get());
+        } else {
+            FileStorage.saveToFile(currentBookings.get(), file);
+        }
+    }
+
+    @Override
+    public void bookingCreated(Booking booking) {
+        save();
+    }
+
+    @Override
+    public void bookingsCreated(List<Booking> bookings) {
+        save();
+    }
+
+    @Override
+    public void bookingCanceled(Booking booking) {
+        save();
+    }
+}
@@ -1,26 +1,53 @@
 package ait.de.dao; // 📌 Class remains in `dao`, but writes files to `files/`
 
+import ait.de.metrics.LatencyHistogram;
+import ait.de.metrics.MetricsRegistry;
 import ait.de.model.Booking;
 import ait.de.utilities.BookingStatus;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Manages persistent storage of bookings in a CSV file.
  */
 @Slf4j
 public class FileStorage {
-    private static final String DIRECTORY = "src/main/java/ait/de/files";  // Storage location `
+    static final String DIRECTORY = "src/main/java/ait/de/files";  // Storage location `
     private static final String FILE_NAME = DIRECTORY + "/bookings.csv";  // File path
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final LatencyHistogram SAVE_LATENCY = MetricsRegistry.global().histogram("file.save");
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.global().histogram("file.load");
+    private static final LongAdder SAVED_BOOKINGS = MetricsRegistry.global().counter("file.save.bookings");
+    private static final LongAdder SAVE_ERRORS = MetricsRegistry.global().counter("file.save.errors");
+    private static final Map<Path, Object> FILE_LOCKS = new ConcurrentHashMap<>(); // One lock per file
+
+    /**
+     * @return Directory holding the files of one restaurant, created if missing.
+     * @throws UncheckedIOException if it cannot be created.
+     */
+    public static Path restaurantDirectory(String restaurantId) {
+        Path directory = Paths.get(DIRECTORY, "restaurants", restaurantId);
+        try {
+            return Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create restaurant directory: " + directory, e);
+        }
+    }
 
     /**
      * Ensures the storage directory exists.
@@ -39,19 +66,78 @@ public class FileStorage {
 
     /**
      * Saves a list of bookings to a CSV file.
+     * Concurrent saves are serialized so they cannot interleave in the file.
      *
      * @param bookings List of bookings to be saved.
      */
     public static void saveToFile(List<Booking> bookings) {
+        saveToFile(bookings.stream());
+    }
+
+    /**
+     * Saves a stream of bookings to the CSV file, writing each booking as it arrives.
+     *
+     * @param bookings Stream of bookings to be saved.
+     */
+    public static void saveToFile(Stream<Booking> bookings) {
         ensureDirectoryExists();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_NAME))) {
-            for (Booking booking : bookings) {
-                writer.write(formatBooking(booking));
+        saveToFile(bookings, Paths.get(FILE_NAME));
+    }
+
+    /**
+     * Saves a list of bookings to the given CSV file.
+     *
+     * @param bookings List of bookings to be saved.
+     * @param file     Path of the CSV file.
+     */
+    public static void saveToFile(List<Booking> bookings, Path file) {
+        saveToFile(bookings.stream(), file);
+    }
+
+    /**
+     * Saves a stream of bookings to the given CSV file without collecting them first.
+     * Saves to the same file are serialized; saves to different files, e.g. of different restaurants, run in parallel.
+     *
+     * @param bookings Stream of bookings to be saved.
+     * @param file     Path of the CSV file.
+     */
+    public static void saveToFile(Stream<Booking> bookings, Path file) {
+        synchronized (FILE_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new Object())) {
+            writeFile(bookings, file, FileStorage::formatBooking);
+        }
+    }
+
+    /**
+     * Saves a stream of bookings to the given CSV file with each booking's ID as the first field,
+     * so {@link #loadFromFile(Path)} restores the same IDs instead of assigning new ones.
+     *
+     * @param bookings Stream of bookings to be saved.
+     * @param file     Path of the CSV file.
+     */
+    public static void saveToFileWithIds(Stream<Booking> bookings, Path file) {
+        synchronized (FILE_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new Object())) {
+            writeFile(bookings, file, booking -> booking.getId() + "," + formatBooking(booking));
+        }
+    }
+
+    private static void writeFile(Stream<Booking> bookings, Path file, Function<Booking, String> formatter) {
+        long startNanos = System.nanoTime();
+        long written = 0;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file.toFile()))) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                writer.write(formatter.apply(booking));
                 writer.newLine();
+                written++;
             }
-            log.info("Bookings successfully saved to file: {}", FILE_NAME);
+            log.info("Bookings successfully saved to file: {}", file);
         } catch (IOException e) {
-            log.error("Error writing to file: {}", FILE_NAME, e);
+            SAVE_ERRORS.increment();
+            log.error("Error writing to file: {}", file, e);
+        } finally {
+            SAVED_BOOKINGS.add(written);
+            SAVE_LATENCY.recordSince(startNanos);
         }
     }
 
@@ -62,15 +148,44 @@ public class FileStorage {
      */
     public static List<Booking> loadFromFile() {
         ensureDirectoryExists();
+        return loadFromFile(Paths.get(FILE_NAME));
+    }
+
+    /**
+     * Loads bookings from the given CSV file.
+     *
+     * @param file Path of the CSV file.
+     * @return List of loaded bookings.
+     */
+    public static List<Booking> loadFromFile(Path file) {
+        long startNanos = System.nanoTime();
+        try {
+            return readFile(file);
+        } finally {
+            LOAD_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    private static List<Booking> readFile(Path file) {
         List<Booking> bookings = new ArrayList<>();
-        File file = new File(FILE_NAME);
 
-        if (!file.exists()) {
+        if (!Files.exists(file)) {
             log.warn("Booking file does not exist. A new file will be created when saving.");
             return bookings;  // Return empty list, no file yet
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_NAME))) {
+        Charset charset = Charset.defaultCharset(); // Same charset as FileReader and FileWriter
+        if (CsvBookingLoader.supports(charset)) {
+            try {
+                bookings = CsvBookingLoader.load(file, charset);
+                log.info("Bookings successfully loaded from file: {}", file);
+                return bookings;
+            } catch (IOException e) {
+                log.warn("Fast loading failed, reading line by line: {}", file, e);
+            }
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 Booking booking = parseBooking(line);
@@ -78,9 +193,9 @@ public class FileStorage {
                     bookings.add(booking);
                 }
             }
-            log.info("Bookings successfully loaded from file: {}", FILE_NAME);
+            log.info("Bookings successfully loaded from file: {}", file);
         } catch (IOException e) {
-            log.error("Error reading file: {}", FILE_NAME, e);
+            log.error("Error reading file: {}", file, e);
         }
         return bookings;
     }
@@ -97,18 +212,22 @@ public class FileStorage {
     }
 
     /**
-     * Parses a booking entry from a CSV line.
+     * Parses a booking entry from a CSV line. A line with a leading ID field, as written by
+     * {@link #saveToFileWithIds(Stream, Path)}, keeps that ID; otherwise a new one is assigned.
      */
-    private static Booking parseBooking(String line) {
+    static Booking parseBooking(String line) {
         String[] parts = line.split(",");
-        if (parts.length == 5) {
+        if (parts.length == 5 || parts.length == 6) {
             try {
-                int tableId = Integer.parseInt(parts[0]);
-                LocalDateTime startDateTime = LocalDateTime.parse(parts[1], FORMATTER);
-                LocalDateTime endDateTime = LocalDateTime.parse(parts[2], FORMATTER);
-                String customerName = parts[3];
-                BookingStatus status = BookingStatus.valueOf(parts[4]);
-                return new Booking(tableId, startDateTime, endDateTime, customerName, status);
+                int offset = parts.length - 5;
+                int tableId = Integer.parseInt(parts[offset]);
+                LocalDateTime startDateTime = LocalDateTime.parse(parts[offset + 1], FORMATTER);
+                LocalDateTime endDateTime = LocalDateTime.parse(parts[offset + 2], FORMATTER);
+                String customerName = parts[offset + 3];
+                BookingStatus status = BookingStatus.valueOf(parts[offset + 4]);
+                return offset == 0
+                        ? new Booking(tableId, startDateTime, endDateTime, customerName, status)
+                        : new Booking(Integer.parseInt(parts[0]), tableId, startDateTime, endDateTime, customerName, status);
             } catch (Exception e) {
                 log.error("Error parsing booking entry: {}", line, e);
             }
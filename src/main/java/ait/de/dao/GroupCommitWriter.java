@@ -0,0 +1,195 @@
+package ait.de.dao;
+
+import ait.de.utilities.DurabilityMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends records to a file channel according to a {@link DurabilityMode}.
+ * <p>
+ * In {@link DurabilityMode#GROUP_COMMIT} and {@link DurabilityMode#ASYNC} modes a single background
+ * thread collects the records queued by all callers and writes them with one write and one force.
+ * In group-commit mode the thread waits at most {@code maxDelay} for more records to join a batch,
+ * and callers block until their batch is on disk.
+ */
+@Slf4j
+class GroupCommitWriter {
+    private static final int QUEUE_CAPACITY = 65_536; // Async callers block when the disk falls this far behind
+    private static final int MAX_BATCH = 4_096;
+
+    private final FileChannel channel;
+    private final DurabilityMode mode;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread committer;
+    private volatile boolean closed;
+
+    GroupCommitWriter(FileChannel channel, DurabilityMode mode, Duration maxDelay) {
+        this.channel = channel;
+        this.mode = mode;
+        this.maxDelayNanos = maxDelay.toNanos();
+        if (mode == DurabilityMode.SYNC) {
+            committer = null;
+        } else {
+            committer = new Thread(this::runCommitter, "booking-journal-committer");
+            committer.setDaemon(true);
+            committer.start();
+        }
+    }
+
+    /**
+     * Writes one record. Returns once the record is durable, unless the mode is asynchronous.
+     *
+     * @throws UncheckedIOException if the record could not be written.
+     */
+    void write(byte[] record) {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed.");
+        }
+        if (mode == DurabilityMode.SYNC) {
+            synchronized (this) {
+                try {
+                    writeFully(ByteBuffer.wrap(record));
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return;
+        }
+        PendingWrite pending = new PendingWrite(record, mode == DurabilityMode.GROUP_COMMIT ? new CompletableFuture<>() : null);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a journal record.", e);
+        }
+        if (pending.done != null) {
+            try {
+                pending.done.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof UncheckedIOException u ? u : new UncheckedIOException(new IOException(e.getCause()));
+            }
+        }
+    }
+
+    /**
+     * Flushes all queued records, forces them to disk and closes the channel.
+     */
+    void close() throws IOException {
+        closed = true;
+        if (committer != null) {
+            // Not interrupted: an interrupt during FileChannel I/O would close the channel
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PendingWrite> rest = new ArrayList<>();
+        queue.drainTo(rest); // Records queued while the committer was stopping
+        if (!rest.isEmpty()) {
+            commit(rest);
+        }
+        synchronized (this) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void runCommitter() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Ignored: only close() stops the committer, and the current batch must still be written
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Lets more callers join the batch, waiting at most {@code maxDelay} in group-commit mode.
+     */
+    private void collectBatch(List<PendingWrite> batch) throws InterruptedException {
+        queue.drainTo(batch, MAX_BATCH - batch.size());
+        if (mode != DurabilityMode.GROUP_COMMIT || maxDelayNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < MAX_BATCH) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        int size = 0;
+        for (PendingWrite pending : batch) {
+            size += pending.record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (PendingWrite pending : batch) {
+            buffer.put(pending.record);
+        }
+        buffer.flip();
+        IOException failure = null;
+        synchronized (this) {
+            try {
+                writeFully(buffer);
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                log.error("Error committing {} journal records", batch.size(), e);
+            }
+        }
+        for (PendingWrite pending : batch) {
+            if (pending.done == null) {
+                continue;
+            }
+            if (failure == null) {
+                pending.done.complete(null);
+            } else {
+                pending.done.completeExceptionally(new UncheckedIOException(failure));
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private record PendingWrite(byte[] record, CompletableFuture<Void> done) {
+    }
+}
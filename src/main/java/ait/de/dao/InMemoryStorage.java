@@ -1,30 +1,93 @@
 package ait.de.dao;
 
 import ait.de.exceptions.BookingConflictException;
+import ait.de.metrics.LatencyHistogram;
+import ait.de.metrics.MetricsRegistry;
 import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * In-memory storage for managing bookings.
+ * Thread-safe in-memory storage for managing bookings.
+ * <p>
+ * Bookings are indexed by ID in ascending order, so they can be streamed and paged without copying,
+ * and every table keeps its own schedule sorted by start time.
+ * Bookings of one table never overlap, so a conflict check only has to look at the single
+ * booking that starts right before the end of the requested interval.
+ * <p>
+ * A global index sorted by start time answers range queries across all tables. It is scanned from
+ * the longest booking duration seen so far before the requested interval, so a query reads the
+ * matching bookings plus at most that much history.
+ * <p>
+ * Each table schedule is guarded by its own monitor, so bookings for different tables never contend.
+ * <p>
+ * {@link #cancelBooking(int)} swaps the booking for a canceled copy in place, so no index changes shape.
+ * Conflict checks and queries skip these tombstones, and a new booking for the same time removes the
+ * tombstones in its way, so the bookings in a schedule still never overlap. {@link #purgeCanceled()}
+ * removes the rest.
  */
 @Slf4j
 public class InMemoryStorage implements BookingRepository {
-    private final List<Booking> bookings = new ArrayList<>();
+    private static final LatencyHistogram HAS_CONFLICT_LATENCY = MetricsRegistry.global().histogram("storage.hasConflict");
+
+    private final ConcurrentNavigableMap<Integer, Booking> bookings = new ConcurrentSkipListMap<>(); // bookingId -> booking
+    private final Map<Integer, NavigableMap<LocalDateTime, Booking>> schedules = new ConcurrentHashMap<>(); // tableId -> bookings by start
+    private final ConcurrentNavigableMap<StartKey, Booking> byStart = new ConcurrentSkipListMap<>(); // (start, bookingId) -> booking
+    private final AtomicLong maxDurationSeconds = new AtomicLong(); // Longest booking ever added, never decreases
+    private final Queue<Booking> tombstones = new ConcurrentLinkedQueue<>(); // Canceled since the last purge
 
     /**
-     * Retrieves all bookings currently stored in memory.
+     * Retrieves all bookings currently stored in memory, ordered by ID.
      *
      * @return List of all stored bookings.
      */
     @Override
     public List<Booking> getAllBookings() {
-        return new ArrayList<>(bookings); // Return a copy to prevent external modifications
+        return streamBookings().collect(Collectors.toList()); // Return a copy to prevent external modifications
+    }
+
+    /**
+     * Streams the stored bookings in ID order directly from the index.
+     * The stream is weakly consistent: it never fails on concurrent changes and may or may not reflect them.
+     *
+     * @return Stream of all stored bookings.
+     */
+    @Override
+    public Stream<Booking> streamBookings() {
+        return bookings.values().stream().filter(InMemoryStorage::isActive);
+    }
+
+    /**
+     * Retrieves one page of bookings ordered by ID, starting right after {@code afterId} in the index.
+     *
+     * @param afterId Only bookings with a greater ID are returned.
+     * @param limit   Maximum number of bookings in the page.
+     * @return Up to {@code limit} bookings; an empty list after the last page.
+     */
+    @Override
+    public List<Booking> getBookingsPage(int afterId, int limit) {
+        return bookings.tailMap(afterId, false).values().stream()
+                .filter(InMemoryStorage::isActive)
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -35,9 +98,7 @@ public class InMemoryStorage implements BookingRepository {
      */
     @Override
     public Optional<Booking> getBookingById(int bookingId) {
-        return bookings.stream()
-                .filter(booking -> booking.getId() == bookingId)
-                .findFirst();
+        return Optional.ofNullable(bookings.get(bookingId)).filter(InMemoryStorage::isActive);
     }
 
     /**
@@ -48,12 +109,65 @@ public class InMemoryStorage implements BookingRepository {
      */
     @Override
     public void addBooking(Booking newBooking) {
-        if (hasConflict(newBooking.getTableId(), newBooking.getStartDateTime(), newBooking.getEndDateTime())) {
+        if (!tryAddBooking(newBooking)) {
             log.warn("Booking conflict detected: {}", newBooking);
             throw new BookingConflictException("Booking time conflicts with an existing reservation!");
         }
-        bookings.add(newBooking);
-        log.info("Booking successfully added: {}", newBooking);
+    }
+
+    /**
+     * Atomically checks the table's schedule and adds the booking if the time is free.
+     *
+     * @param newBooking The booking to be added.
+     * @return true if the booking was added, false if it conflicts with an existing one.
+     */
+    @Override
+    public boolean tryAddBooking(Booking newBooking) {
+        NavigableMap<LocalDateTime, Booking> schedule = scheduleOf(newBooking.getTableId());
+        synchronized (schedule) {
+            if (overlaps(schedule, newBooking.getStartDateTime(), newBooking.getEndDateTime())) {
+                return false;
+            }
+            evictCanceled(schedule, newBooking.getStartDateTime(), newBooking.getEndDateTime());
+            schedule.put(newBooking.getStartDateTime(), newBooking);
+            bookings.put(newBooking.getId(), newBooking);
+            maxDurationSeconds.accumulateAndGet(durationSeconds(newBooking), Math::max);
+            byStart.put(new StartKey(newBooking.getStartDateTime(), newBooking.getId()), newBooking);
+        }
+        if (newBooking.isCanceled()) {
+            tombstones.add(newBooking);
+        }
+        log.debug("Booking added to storage: {}", newBooking);
+        return true;
+    }
+
+    /**
+     * Restores previously accepted bookings straight into the indexes, without conflict checks
+     * and without logging every booking. A booking whose table already has one with the same
+     * start time is skipped, so the indexes stay consistent even with a damaged source.
+     *
+     * @param restoredBookings Bookings to be restored.
+     */
+    @Override
+    public void restoreBookings(Collection<Booking> restoredBookings) {
+        int restored = 0;
+        for (Booking booking : restoredBookings) {
+            NavigableMap<LocalDateTime, Booking> schedule = scheduleOf(booking.getTableId());
+            synchronized (schedule) {
+                if (schedule.putIfAbsent(booking.getStartDateTime(), booking) != null) {
+                    log.warn("Skipping restored booking with an occupied start time: {}", booking);
+                    continue;
+                }
+                bookings.put(booking.getId(), booking);
+                maxDurationSeconds.accumulateAndGet(durationSeconds(booking), Math::max);
+                byStart.put(new StartKey(booking.getStartDateTime(), booking.getId()), booking);
+            }
+            if (booking.isCanceled()) {
+                tombstones.add(booking);
+            }
+            restored++;
+        }
+        log.info("{} bookings restored to storage.", restored);
     }
 
     /**
@@ -63,8 +177,72 @@ public class InMemoryStorage implements BookingRepository {
      */
     @Override
     public void removeBooking(int bookingId) {
-        bookings.removeIf(booking -> booking.getId() == bookingId);
-        log.info("Booking ID={} removed from storage.", bookingId);
+        Booking booking = bookings.get(bookingId);
+        if (booking != null) {
+            NavigableMap<LocalDateTime, Booking> schedule = scheduleOf(booking.getTableId());
+            synchronized (schedule) {
+                if (bookings.remove(bookingId, booking)) {
+                    schedule.remove(booking.getStartDateTime(), booking);
+                    byStart.remove(new StartKey(booking.getStartDateTime(), bookingId), booking);
+                }
+            }
+        }
+        log.debug("Booking ID={} removed from storage.", bookingId);
+    }
+
+    /**
+     * Marks a booking as canceled by replacing it with a canceled copy in every index.
+     * Only values are replaced, so the cost does not depend on where the booking is stored.
+     *
+     * @param bookingId The ID of the booking to be canceled.
+     * @return The canceled copy, or empty if there is no active booking with this ID.
+     */
+    @Override
+    public Optional<Booking> cancelBooking(int bookingId) {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null || booking.isCanceled()) {
+            return Optional.empty();
+        }
+        Booking tombstone = booking.withStatus(BookingStatus.CANCELED);
+        NavigableMap<LocalDateTime, Booking> schedule = scheduleOf(booking.getTableId());
+        synchronized (schedule) {
+            if (bookings.get(bookingId) != booking) {
+                return Optional.empty(); // Canceled or removed meanwhile
+            }
+            bookings.put(bookingId, tombstone);
+            schedule.put(booking.getStartDateTime(), tombstone);
+            byStart.put(new StartKey(booking.getStartDateTime(), bookingId), tombstone);
+        }
+        tombstones.add(tombstone);
+        log.debug("Booking ID={} canceled in storage.", bookingId);
+        return Optional.of(tombstone);
+    }
+
+    /**
+     * Removes the tombstones of all bookings canceled since the previous purge from the indexes.
+     * Tombstones that a new booking already removed are only reported.
+     *
+     * @return Bookings canceled since the previous purge, in the order they were canceled.
+     */
+    @Override
+    public List<Booking> purgeCanceled() {
+        List<Booking> purged = new ArrayList<>();
+        Booking tombstone;
+        while ((tombstone = tombstones.poll()) != null) {
+            NavigableMap<LocalDateTime, Booking> schedule = scheduleOf(tombstone.getTableId());
+            synchronized (schedule) {
+                bookings.remove(tombstone.getId(), tombstone);
+                if (schedule.get(tombstone.getStartDateTime()) == tombstone) {
+                    schedule.remove(tombstone.getStartDateTime());
+                }
+                byStart.remove(new StartKey(tombstone.getStartDateTime(), tombstone.getId()), tombstone);
+            }
+            purged.add(tombstone);
+        }
+        if (!purged.isEmpty()) {
+            log.debug("{} canceled bookings purged from storage.", purged.size());
+        }
+        return purged;
     }
 
     /**
@@ -77,10 +255,168 @@ public class InMemoryStorage implements BookingRepository {
      */
     @Override
     public boolean hasConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        return bookings.stream()
-                .filter(booking -> booking.getTableId() == tableId)
-                .anyMatch(existingBooking ->
-                        startDateTime.isBefore(existingBooking.getEndDateTime()) &&
-                                existingBooking.getStartDateTime().isBefore(endDateTime));
+        long startNanos = System.nanoTime();
+        try {
+            NavigableMap<LocalDateTime, Booking> schedule = schedules.get(tableId);
+            if (schedule == null) {
+                return false;
+            }
+            synchronized (schedule) {
+                return overlaps(schedule, startDateTime, endDateTime);
+            }
+        } finally {
+            HAS_CONFLICT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Finds the booking that blocks the interval with the same neighbour lookup as {@link #hasConflict}.
+     *
+     * @param tableId       The ID of the table.
+     * @param startDateTime The start time of the new booking.
+     * @param endDateTime   The end time of the new booking.
+     * @return The blocking booking, or empty if the time is free.
+     */
+    @Override
+    public Optional<Booking> findConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        NavigableMap<LocalDateTime, Booking> schedule = schedules.get(tableId);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        synchronized (schedule) {
+            return Optional.ofNullable(conflictOf(schedule, startDateTime, endDateTime));
+        }
+    }
+
+    /**
+     * Retrieves the bookings of a table that overlap the given interval from its sorted schedule.
+     * Only the booking starting right before {@code from} can reach into the interval.
+     *
+     * @param tableId The ID of the table.
+     * @param from    Start of the interval (inclusive).
+     * @param to      End of the interval (exclusive).
+     * @return Bookings of the table overlapping the interval, ordered by start time.
+     */
+    @Override
+    public List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        NavigableMap<LocalDateTime, Booking> schedule = schedules.get(tableId);
+        if (schedule == null || !from.isBefore(to)) {
+            return result;
+        }
+        synchronized (schedule) {
+            Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(from);
+            if (previous != null && isActive(previous.getValue()) && from.isBefore(previous.getValue().getEndDateTime())) {
+                result.add(previous.getValue());
+            }
+            for (Booking booking : schedule.subMap(from, true, to, false).values()) {
+                if (isActive(booking)) {
+                    result.add(booking);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the bookings of all tables that overlap the given interval from the start-time index.
+     * Only bookings starting at most the longest booking duration before {@code from} are looked at.
+     *
+     * @param from Start of the interval (inclusive).
+     * @param to   End of the interval (exclusive).
+     * @return Bookings overlapping the interval, ordered by start time and then by ID.
+     */
+    @Override
+    public List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return result;
+        }
+        StartKey lowest = new StartKey(from.minusSeconds(maxDurationSeconds.get()), Integer.MIN_VALUE);
+        StartKey upper = new StartKey(to, Integer.MIN_VALUE);
+        for (Booking booking : byStart.subMap(lowest, true, upper, false).values()) {
+            if (isActive(booking) && from.isBefore(booking.getEndDateTime())) {
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+
+    private NavigableMap<LocalDateTime, Booking> scheduleOf(int tableId) {
+        return schedules.computeIfAbsent(tableId, id -> new TreeMap<>());
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, Booking> schedule,
+                                    LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return conflictOf(schedule, startDateTime, endDateTime) != null;
+    }
+
+    /**
+     * Only the active booking starting last before {@code endDateTime} can overlap the interval,
+     * because all earlier bookings of the table end before that one starts. Tombstones on the way are
+     * skipped, but only while they start after {@code startDateTime}: bookings before such a tombstone
+     * end before it starts, and so before the interval.
+     * A booking starting at exactly the same time is always treated as a conflict.
+     *
+     * @return The blocking booking, or null if the interval is free.
+     */
+    private static Booking conflictOf(NavigableMap<LocalDateTime, Booking> schedule,
+                                      LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(endDateTime);
+        while (previous != null && !isActive(previous.getValue()) && startDateTime.isBefore(previous.getKey())) {
+            previous = schedule.lowerEntry(previous.getKey());
+        }
+        if (previous != null && isActive(previous.getValue()) && startDateTime.isBefore(previous.getValue().getEndDateTime())) {
+            return previous.getValue();
+        }
+        Booking sameStart = schedule.get(startDateTime);
+        return sameStart != null && isActive(sameStart) ? sameStart : null;
+    }
+
+    /**
+     * Removes the tombstones overlapping a free interval from the indexes, so a new booking can take
+     * their place. They stay queued for {@link #purgeCanceled()}.
+     */
+    private void evictCanceled(NavigableMap<LocalDateTime, Booking> schedule,
+                               LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        List<Booking> inTheWay = new ArrayList<>();
+        Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(startDateTime);
+        if (previous != null && startDateTime.isBefore(previous.getValue().getEndDateTime())) {
+            inTheWay.add(previous.getValue());
+        }
+        inTheWay.addAll(schedule.subMap(startDateTime, true, endDateTime, endDateTime.equals(startDateTime)).values());
+        for (Booking tombstone : inTheWay) {
+            schedule.remove(tombstone.getStartDateTime());
+            bookings.remove(tombstone.getId(), tombstone);
+            byStart.remove(new StartKey(tombstone.getStartDateTime(), tombstone.getId()), tombstone);
+        }
+    }
+
+    private static boolean isActive(Booking booking) {
+        return !booking.isCanceled();
+    }
+
+    private static long durationSeconds(Booking booking) {
+        Duration duration = Duration.between(booking.getStartDateTime(), booking.getEndDateTime());
+        return duration.getNano() == 0 ? duration.getSeconds() : duration.getSeconds() + 1;
+    }
+
+    /**
+     * Key of the start-time index; the booking ID keeps bookings of different tables with the same start apart.
+     */
+    private static final class StartKey implements Comparable<StartKey> {
+        private final LocalDateTime start;
+        private final int bookingId;
+
+        StartKey(LocalDateTime start, int bookingId) {
+            this.start = start;
+            this.bookingId = bookingId;
+        }
+
+        @Override
+        public int compareTo(StartKey other) {
+            int byTime = start.compareTo(other.start);
+            return byTime != 0 ? byTime : Integer.compare(bookingId, other.bookingId);
+        }
     }
-}
\ No newline at end of file
+}
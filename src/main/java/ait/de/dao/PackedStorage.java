@@ -0,0 +1,612 @@
+package ait.de.dao;
+
+import ait.de.exceptions.BookingConflictException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compact in-memory storage that keeps bookings as primitive columns instead of objects.
+ * <p>
+ * Every table stores its bookings in parallel arrays sorted by start time: start and end as minutes
+ * since 1970-01-01T00:00 (see {@link BinaryFileStorage#toEpochMinute(LocalDateTime)}), the booking ID,
+ * the status ordinal and an index into a shared pool of distinct customer names. Conflict checks are
+ * a binary search over an {@code int[]} and one comparison. {@link Booking} objects are only created
+ * when a caller asks for them, and they keep their original IDs.
+ * <p>
+ * Times must be whole minutes, the same precision as the booking files.
+ * Each table is guarded by its own monitor, like in {@link InMemoryStorage}.
+ * <p>
+ * {@link #cancelBooking(int)} only overwrites the status byte of the row, instead of shifting all later
+ * rows of the table. Conflict checks and queries skip canceled rows, and {@link #purgeCanceled()} removes
+ * them from a table in one pass.
+ */
+@Slf4j
+public class PackedStorage implements BookingRepository {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final byte CANCELED = (byte) BookingStatus.CANCELED.ordinal();
+    private static final int ID_BATCH = 256; // IDs read from the ID index under one lock while streaming
+
+    private final Map<Integer, TableColumns> tables = new ConcurrentHashMap<>(); // tableId -> packed schedule
+    private final NamePool names = new NamePool();
+    private final Queue<Booking> tombstones = new ConcurrentLinkedQueue<>(); // Canceled since the last purge
+    private int[] tableOfId = new int[1024]; // bookingId -> tableId, 0 if absent
+    private int[] startOfId = new int[1024]; // bookingId -> start minute, to find the row within the table
+    private final BitSet liveIds = new BitSet(); // IDs that have a row, guarded by this
+
+    /**
+     * Retrieves all stored bookings, ordered by ID.
+     *
+     * @return List of all stored bookings.
+     */
+    @Override
+    public List<Booking> getAllBookings() {
+        List<Booking> result = new ArrayList<>();
+        for (Map.Entry<Integer, TableColumns> entry : tables.entrySet()) {
+            TableColumns columns = entry.getValue();
+            synchronized (columns) {
+                for (int row = 0; row < columns.size; row++) {
+                    if (columns.statuses[row] != CANCELED) {
+                        result.add(columns.toBooking(entry.getKey(), row));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(Booking::getId));
+        return result;
+    }
+
+    /**
+     * Streams the stored bookings in ID order, creating each {@link Booking} only when it is reached.
+     * IDs are taken from the ID index in batches, so unused IDs cost nothing and writers wait for one
+     * batch at most. The stream is weakly consistent: bookings added or removed meanwhile may or may not be seen.
+     *
+     * @return Stream of all stored bookings.
+     */
+    @Override
+    public Stream<Booking> streamBookings() {
+        return streamBookingsAfter(0, ID_BATCH);
+    }
+
+    /**
+     * Retrieves one page of bookings ordered by ID, walking the ID index from {@code afterId}.
+     * The cost depends on the page size, not on how many IDs lie between two stored bookings.
+     *
+     * @param afterId Only bookings with a greater ID are returned.
+     * @param limit   Maximum number of bookings in the page.
+     * @return Up to {@code limit} bookings; an empty list after the last page.
+     */
+    @Override
+    public List<Booking> getBookingsPage(int afterId, int limit) {
+        return streamBookingsAfter(afterId, Math.min(Math.max(limit, 1), ID_BATCH)).limit(limit).collect(Collectors.toList());
+    }
+
+    private Stream<Booking> streamBookingsAfter(int afterId, int batchSize) {
+        Spliterator<Booking> spliterator = Spliterators.spliteratorUnknownSize(
+                new IdOrderIterator(Math.max(afterId, 0) + 1, batchSize), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Retrieves a booking by its ID.
+     *
+     * @param bookingId The ID of the booking.
+     * @return Optional containing the booking if found.
+     */
+    @Override
+    public Optional<Booking> getBookingById(int bookingId) {
+        int tableId;
+        int start;
+        synchronized (this) {
+            if (bookingId <= 0 || bookingId >= tableOfId.length || tableOfId[bookingId] == 0) {
+                return Optional.empty();
+            }
+            tableId = tableOfId[bookingId];
+            start = startOfId[bookingId];
+        }
+        TableColumns columns = tables.get(tableId);
+        synchronized (columns) {
+            int row = columns.rowOf(bookingId, start);
+            return row < 0 || columns.statuses[row] == CANCELED
+                    ? Optional.empty()
+                    : Optional.of(columns.toBooking(tableId, row));
+        }
+    }
+
+    /**
+     * Adds a new booking to the storage after checking for conflicts.
+     *
+     * @param newBooking The booking to be added.
+     * @throws BookingConflictException if a time conflict is detected.
+     * @throws IllegalArgumentException if the booking times are not whole minutes.
+     */
+    @Override
+    public void addBooking(Booking newBooking) {
+        if (!tryAddBooking(newBooking)) {
+            log.warn("Booking conflict detected: {}", newBooking);
+            throw new BookingConflictException("Booking time conflicts with an existing reservation!");
+        }
+    }
+
+    /**
+     * Atomically checks the table's schedule and adds the booking if the time is free.
+     *
+     * @param newBooking The booking to be added.
+     * @return true if the booking was added, false if it conflicts with an existing one.
+     * @throws IllegalArgumentException if the booking times are not whole minutes.
+     */
+    @Override
+    public boolean tryAddBooking(Booking newBooking) {
+        int start = wholeMinute(newBooking.getStartDateTime());
+        int end = wholeMinute(newBooking.getEndDateTime());
+        int name = names.indexOf(newBooking.getCustomerName());
+        TableColumns columns = tables.computeIfAbsent(newBooking.getTableId(), id -> new TableColumns());
+        synchronized (columns) {
+            if (columns.overlaps(start, end)) {
+                return false;
+            }
+            columns.evictCanceled(start, end);
+            columns.insert(start, end, newBooking.getId(), newBooking.getStatus().ordinal(), name);
+            index(newBooking.getId(), newBooking.getTableId(), start);
+        }
+        if (newBooking.isCanceled()) {
+            tombstones.add(newBooking);
+        }
+        log.debug("Booking added to storage: {}", newBooking);
+        return true;
+    }
+
+    /**
+     * Removes a booking from storage by ID.
+     *
+     * @param bookingId The ID of the booking to be removed.
+     */
+    @Override
+    public void removeBooking(int bookingId) {
+        int tableId;
+        int start;
+        synchronized (this) {
+            tableId = bookingId > 0 && bookingId < tableOfId.length ? tableOfId[bookingId] : 0;
+            start = tableId == 0 ? 0 : startOfId[bookingId];
+        }
+        if (tableId != 0) {
+            TableColumns columns = tables.get(tableId);
+            synchronized (columns) {
+                int row = columns.rowOf(bookingId, start);
+                if (row >= 0) {
+                    columns.delete(row, row + 1);
+                    index(bookingId, 0, 0);
+                }
+            }
+        }
+        log.debug("Booking ID={} removed from storage.", bookingId);
+    }
+
+    /**
+     * Marks a booking as canceled by overwriting the status of its row; no row moves.
+     *
+     * @param bookingId The ID of the booking to be canceled.
+     * @return The canceled booking, or empty if there is no active booking with this ID.
+     */
+    @Override
+    public Optional<Booking> cancelBooking(int bookingId) {
+        int tableId;
+        int start;
+        synchronized (this) {
+            tableId = bookingId > 0 && bookingId < tableOfId.length ? tableOfId[bookingId] : 0;
+            start = tableId == 0 ? 0 : startOfId[bookingId];
+        }
+        if (tableId == 0) {
+            return Optional.empty();
+        }
+        TableColumns columns = tables.get(tableId);
+        Booking tombstone;
+        synchronized (columns) {
+            int row = columns.rowOf(bookingId, start);
+            if (row < 0 || columns.statuses[row] == CANCELED) {
+                return Optional.empty();
+            }
+            columns.statuses[row] = CANCELED;
+            tombstone = columns.toBooking(tableId, row);
+        }
+        tombstones.add(tombstone);
+        log.debug("Booking ID={} canceled in storage.", bookingId);
+        return Optional.of(tombstone);
+    }
+
+    /**
+     * Removes the rows of all bookings canceled since the previous purge, compacting every affected
+     * table once. Rows that a new booking already replaced are only reported.
+     *
+     * @return Bookings canceled since the previous purge, in the order they were canceled.
+     */
+    @Override
+    public List<Booking> purgeCanceled() {
+        List<Booking> purged = new ArrayList<>();
+        Map<Integer, Set<Integer>> idsByTable = new HashMap<>();
+        Booking tombstone;
+        while ((tombstone = tombstones.poll()) != null) {
+            purged.add(tombstone);
+            idsByTable.computeIfAbsent(tombstone.getTableId(), id -> new HashSet<>()).add(tombstone.getId());
+        }
+        idsByTable.forEach((tableId, ids) -> {
+            TableColumns columns = tables.get(tableId);
+            synchronized (columns) {
+                columns.deleteCanceled(ids);
+            }
+        });
+        if (!purged.isEmpty()) {
+            log.debug("{} canceled bookings purged from storage.", purged.size());
+        }
+        return purged;
+    }
+
+    /**
+     * Checks if a new booking conflicts with any existing bookings for the same table.
+     * Times between whole minutes are widened to the surrounding minutes, which gives the same answer
+     * because all stored bookings start and end on whole minutes.
+     *
+     * @param tableId       The ID of the table.
+     * @param startDateTime The start time of the new booking.
+     * @param endDateTime   The end time of the new booking.
+     * @return true if a conflict exists, false otherwise.
+     */
+    @Override
+    public boolean hasConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        TableColumns columns = tables.get(tableId);
+        if (columns == null) {
+            return false;
+        }
+        int start = floorMinute(startDateTime);
+        int end = ceilMinute(endDateTime);
+        synchronized (columns) {
+            return columns.overlaps(start, end);
+        }
+    }
+
+    /**
+     * Finds the booking that blocks the interval with the same binary search as {@link #hasConflict}.
+     *
+     * @param tableId       The ID of the table.
+     * @param startDateTime The start time of the new booking.
+     * @param endDateTime   The end time of the new booking.
+     * @return The blocking booking, or empty if the time is free.
+     */
+    @Override
+    public Optional<Booking> findConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        TableColumns columns = tables.get(tableId);
+        if (columns == null) {
+            return Optional.empty();
+        }
+        int start = floorMinute(startDateTime);
+        int end = ceilMinute(endDateTime);
+        synchronized (columns) {
+            int row = columns.conflictingRow(start, end);
+            return row < 0 ? Optional.empty() : Optional.of(columns.toBooking(tableId, row));
+        }
+    }
+
+    /**
+     * Retrieves the bookings of a table that overlap the given interval with two binary searches.
+     *
+     * @param tableId The ID of the table.
+     * @param from    Start of the interval (inclusive).
+     * @param to      End of the interval (exclusive).
+     * @return Bookings of the table overlapping the interval, ordered by start time.
+     */
+    @Override
+    public List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        TableColumns columns = tables.get(tableId);
+        if (columns == null || !from.isBefore(to)) {
+            return result;
+        }
+        int start = floorMinute(from);
+        int end = ceilMinute(to);
+        synchronized (columns) {
+            int first = columns.startsBefore(start) - 1; // Booking starting right before the interval
+            if (first < 0 || columns.ends[first] <= start) {
+                first++;
+            }
+            int last = columns.startsBefore(end);
+            for (int row = first; row < last; row++) {
+                if (columns.statuses[row] != CANCELED) {
+                    result.add(columns.toBooking(tableId, row));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the bookings of all tables that overlap the given interval
+     * by running the binary-search range read on every table and merging the results.
+     *
+     * @param from Start of the interval (inclusive).
+     * @param to   End of the interval (exclusive).
+     * @return Bookings overlapping the interval, ordered by start time and then by ID.
+     */
+    @Override
+    public List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        for (Integer tableId : tables.keySet()) {
+            result.addAll(findTableBookings(tableId, from, to));
+        }
+        result.sort(Comparator.comparing(Booking::getStartDateTime).thenComparingInt(Booking::getId));
+        return result;
+    }
+
+    private synchronized void index(int bookingId, int tableId, int start) {
+        if (bookingId >= tableOfId.length) {
+            int capacity = Math.max(bookingId + 1, tableOfId.length * 2);
+            tableOfId = Arrays.copyOf(tableOfId, capacity);
+            startOfId = Arrays.copyOf(startOfId, capacity);
+        }
+        tableOfId[bookingId] = tableId;
+        startOfId[bookingId] = start;
+        liveIds.set(bookingId, tableId != 0);
+    }
+
+    private static int wholeMinute(LocalDateTime dateTime) {
+        if (dateTime.getSecond() != 0 || dateTime.getNano() != 0) {
+            log.error("Booking time is not a whole minute: {}", dateTime);
+            throw new IllegalArgumentException("Booking times must be whole minutes.");
+        }
+        return BinaryFileStorage.toEpochMinute(dateTime);
+    }
+
+    private static int floorMinute(LocalDateTime dateTime) {
+        return BinaryFileStorage.toEpochMinute(dateTime);
+    }
+
+    private static int ceilMinute(LocalDateTime dateTime) {
+        int minute = BinaryFileStorage.toEpochMinute(dateTime);
+        return dateTime.getSecond() != 0 || dateTime.getNano() != 0 ? minute + 1 : minute;
+    }
+
+    /**
+     * Bookings of one table as parallel arrays sorted by start minute. Start minutes are unique,
+     * because a booking starting at the same time as another one is always a conflict.
+     */
+    private final class TableColumns {
+        private int size;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] ids = new int[16];
+        private byte[] statuses = new byte[16];
+        private int[] nameIndexes = new int[16];
+
+        /**
+         * Same rule as {@link InMemoryStorage}: only the booking starting right before {@code end}
+         * can overlap, and an equal start is always a conflict.
+         */
+        boolean overlaps(int start, int end) {
+            return conflictingRow(start, end) >= 0;
+        }
+
+        /**
+         * Row of the booking that blocks the interval, or -1 if there is none.
+         * Canceled rows are skipped while they start after {@code start}; rows before such a row end
+         * before it starts, and so before the interval.
+         */
+        int conflictingRow(int start, int end) {
+            int previous = startsBefore(end) - 1;
+            while (previous >= 0 && statuses[previous] == CANCELED && start < starts[previous]) {
+                previous--;
+            }
+            if (previous >= 0 && statuses[previous] != CANCELED && start < ends[previous]) {
+                return previous;
+            }
+            int sameStart = Arrays.binarySearch(starts, 0, size, start);
+            return sameStart >= 0 && statuses[sameStart] != CANCELED ? sameStart : -1;
+        }
+
+        /**
+         * Deletes the canceled rows overlapping a free interval, so a new booking can take their place.
+         * Their bookings stay queued for {@link #purgeCanceled()}.
+         */
+        void evictCanceled(int start, int end) {
+            int first = startsBefore(start) - 1;
+            if (first < 0 || ends[first] <= start) {
+                first++;
+            }
+            int last = startsBefore(Math.max(end, start + 1));
+            if (first < last) {
+                for (int row = first; row < last; row++) {
+                    index(ids[row], 0, 0);
+                }
+                delete(first, last);
+            }
+        }
+
+        /**
+         * Deletes the canceled rows of the given bookings in a single pass over the table.
+         */
+        void deleteCanceled(Set<Integer> bookingIds) {
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (statuses[row] == CANCELED && bookingIds.contains(ids[row])) {
+                    index(ids[row], 0, 0);
+                    continue;
+                }
+                if (kept != row) {
+                    starts[kept] = starts[row];
+                    ends[kept] = ends[row];
+                    ids[kept] = ids[row];
+                    statuses[kept] = statuses[row];
+                    nameIndexes[kept] = nameIndexes[row];
+                }
+                kept++;
+            }
+            size = kept;
+        }
+
+        /**
+         * Number of bookings starting before the given minute, i.e. the insertion point of {@code minute}.
+         */
+        int startsBefore(int minute) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < minute) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        int rowOf(int bookingId, int start) {
+            int row = Arrays.binarySearch(starts, 0, size, start);
+            return row >= 0 && ids[row] == bookingId ? row : -1;
+        }
+
+        void insert(int start, int end, int id, int status, int nameIndex) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                nameIndexes = Arrays.copyOf(nameIndexes, capacity);
+            }
+            int row = startsBefore(start);
+            int moved = size - row; // New bookings usually go last, so this is mostly zero
+            System.arraycopy(starts, row, starts, row + 1, moved);
+            System.arraycopy(ends, row, ends, row + 1, moved);
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(statuses, row, statuses, row + 1, moved);
+            System.arraycopy(nameIndexes, row, nameIndexes, row + 1, moved);
+            starts[row] = start;
+            ends[row] = end;
+            ids[row] = id;
+            statuses[row] = (byte) status;
+            nameIndexes[row] = nameIndex;
+            size++;
+        }
+
+        /**
+         * Deletes the rows from {@code from} (inclusive) to {@code to} (exclusive).
+         */
+        void delete(int from, int to) {
+            int moved = size - to;
+            System.arraycopy(starts, to, starts, from, moved);
+            System.arraycopy(ends, to, ends, from, moved);
+            System.arraycopy(ids, to, ids, from, moved);
+            System.arraycopy(statuses, to, statuses, from, moved);
+            System.arraycopy(nameIndexes, to, nameIndexes, from, moved);
+            size -= to - from;
+        }
+
+        Booking toBooking(int tableId, int row) {
+            return new Booking(ids[row], tableId,
+                    BinaryFileStorage.fromEpochMinute(starts[row]), BinaryFileStorage.fromEpochMinute(ends[row]),
+                    names.get(nameIndexes[row]), STATUSES[statuses[row]]);
+        }
+    }
+
+    /**
+     * Walks the ID index in ascending order. Each batch of IDs is read under the storage monitor,
+     * then the rows are read under their tables' monitors; canceled rows are skipped.
+     */
+    private final class IdOrderIterator implements Iterator<Booking> {
+        private final int batchSize;
+        private final Deque<Booking> buffer = new ArrayDeque<>();
+        private int nextId;
+        private boolean exhausted;
+
+        IdOrderIterator(int firstId, int batchSize) {
+            this.nextId = firstId;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (buffer.isEmpty() && !exhausted) {
+                fill();
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public Booking next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        private void fill() {
+            int[] ids = new int[batchSize];
+            int[] tableIds = new int[batchSize];
+            int[] starts = new int[batchSize];
+            int count = 0;
+            synchronized (PackedStorage.this) {
+                int id = liveIds.nextSetBit(nextId);
+                while (id >= 0 && count < batchSize) {
+                    ids[count] = id;
+                    tableIds[count] = tableOfId[id];
+                    starts[count] = startOfId[id];
+                    count++;
+                    id = id == Integer.MAX_VALUE ? -1 : liveIds.nextSetBit(id + 1);
+                }
+                exhausted = id < 0;
+                nextId = id;
+            }
+            for (int i = 0; i < count; i++) {
+                TableColumns columns = tables.get(tableIds[i]);
+                synchronized (columns) {
+                    int row = columns.rowOf(ids[i], starts[i]);
+                    if (row >= 0 && columns.statuses[row] != CANCELED) {
+                        buffer.add(columns.toBooking(tableIds[i], row));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Distinct customer names, so regular guests are stored once however many bookings they have.
+     */
+    private static final class NamePool {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        synchronized int indexOf(String name) {
+            return indexes.computeIfAbsent(name, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        synchronized String get(int index) {
+            return values.get(index);
+        }
+    }
+}
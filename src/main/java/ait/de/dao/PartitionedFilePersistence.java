@@ -0,0 +1,283 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistence that splits bookings into one CSV file per month of their start time.
+ * <p>
+ * Files are named {@code bookings-yyyy-MM.csv} and use the {@link FileStorage} format with the booking ID
+ * as the first field, so a booking keeps its ID across restarts and archive reads. Only the
+ * current month and later ones are active: they are loaded on startup, and a mutation rewrites just
+ * the file of its month from the repository's range query, so the write cost depends on one month.
+ * <p>
+ * On startup, files of past months are closed: they are appended to {@code bookings-yyyy-MM.csv.gz}
+ * as a gzip member and deleted. Archives are never loaded into the repository; {@link #loadArchived}
+ * reads them on demand and keeps the last few months in a cache. The repository's conflict checks
+ * therefore only see active months; the booking service checks bookings made into a past month
+ * against {@link #loadArchived} as well.
+ */
+@Slf4j
+public class PartitionedFilePersistence implements BookingPersistence {
+    private static final String DEFAULT_DIRECTORY = FileStorage.DIRECTORY + "/partitions";
+    private static final String PREFIX = "bookings-";
+    private static final String ACTIVE_SUFFIX = ".csv";
+    private static final String ARCHIVE_SUFFIX = ".csv.gz";
+    private static final String SINGLE_FILE_NAME = "bookings.csv"; // Written by FileStorage in the parent directory
+    private static final int CACHED_ARCHIVES = 12;
+
+    private final BookingRepository repository;
+    private final Path directory;
+    private final Clock clock;
+    private final Map<YearMonth, List<Booking>> archiveCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, List<Booking>> eldest) {
+            return size() > CACHED_ARCHIVES;
+        }
+    };
+
+    /**
+     * Creates a persistence in the default storage directory.
+     *
+     * @param repository Repository whose range queries provide the contents of a rewritten month.
+     */
+    public PartitionedFilePersistence(BookingRepository repository) {
+        this(repository, Paths.get(DEFAULT_DIRECTORY), Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param repository Repository whose range queries provide the contents of a rewritten month.
+     * @param directory  Directory of the partition files.
+     * @param clock      Clock that defines the current month.
+     */
+    public PartitionedFilePersistence(BookingRepository repository, Path directory, Clock clock) {
+        this.repository = repository;
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    /**
+     * Archives closed months and loads the active ones.
+     * On the first start the single {@code bookings.csv} next to the partition directory is split into partitions.
+     *
+     * @return Bookings of the current and later months.
+     */
+    @Override
+    public List<Booking> load() {
+        if (!Files.exists(directory)) {
+            migrateSingleFile();
+        }
+        YearMonth currentMonth = YearMonth.now(clock);
+        List<Booking> bookings = new ArrayList<>();
+        for (Map.Entry<YearMonth, Path> partition : activeFiles().entrySet()) {
+            if (partition.getKey().isBefore(currentMonth)) {
+                archive(partition.getKey(), partition.getValue());
+            } else {
+                bookings.addAll(FileStorage.loadFromFile(partition.getValue()));
+            }
+        }
+        log.info("{} active bookings loaded from partitions: {}", bookings.size(), directory);
+        return bookings;
+    }
+
+    /**
+     * Every write rewrites a month from the repository, which must hold all of its bookings.
+     */
+    @Override
+    public boolean savesAllBookings() {
+        return true;
+    }
+
+    @Override
+    public void bookingCreated(Booking booking) {
+        rewrite(YearMonth.from(booking.getStartDateTime()));
+    }
+
+    /**
+     * Rewrites every month of the batch once.
+     */
+    @Override
+    public void bookingsCreated(List<Booking> bookings) {
+        bookings.stream()
+                .map(booking -> YearMonth.from(booking.getStartDateTime()))
+                .distinct()
+                .forEach(this::rewrite);
+    }
+
+    @Override
+    public void bookingCanceled(Booking booking) {
+        rewrite(YearMonth.from(booking.getStartDateTime()));
+    }
+
+    /**
+     * Reads the archived months that may hold bookings overlapping the interval, including the month
+     * before it for bookings that start there and reach into the interval.
+     */
+    @Override
+    public List<Booking> loadArchived(LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return result;
+        }
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from).minusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            for (Booking booking : archivedMonth(month)) {
+                if (booking.getStartDateTime().isBefore(to) && from.isBefore(booking.getEndDateTime())) {
+                    result.add(booking);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Synchronized, so a month is never overwritten with an older range query result.
+     */
+    private synchronized void rewrite(YearMonth month) {
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path file = activeFile(month);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Failed to create partition directory: {}", directory, e);
+            return;
+        }
+        FileStorage.saveToFileWithIds(repository.findBookings(monthStart, monthEnd).stream()
+                .filter(booking -> !booking.getStartDateTime().isBefore(monthStart)), file); // Only bookings starting in the month
+    }
+
+    /**
+     * Appends a closed month to its archive as a new gzip member, which readers see as one stream.
+     */
+    private void archive(YearMonth month, Path file) {
+        Path archive = archiveFile(month);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archive,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            Files.copy(file, out);
+        } catch (IOException e) {
+            log.error("Error archiving partition: {}", file, e);
+            return;
+        }
+        try {
+            Files.delete(file);
+            log.info("Partition archived: {}", archive);
+        } catch (IOException e) {
+            log.error("Error deleting archived partition: {}", file, e);
+        }
+        synchronized (archiveCache) {
+            archiveCache.remove(month);
+        }
+    }
+
+    private List<Booking> archivedMonth(YearMonth month) {
+        synchronized (archiveCache) {
+            List<Booking> cached = archiveCache.get(month);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Path archive = archiveFile(month);
+        List<Booking> bookings = new ArrayList<>();
+        if (Files.exists(archive)) {
+            // Same charset as FileStorage, which writes with FileWriter
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(archive)), Charset.defaultCharset()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Booking booking = FileStorage.parseBooking(line); // Restores the archived ID
+                    if (booking != null) {
+                        bookings.add(booking);
+                    }
+                }
+                log.info("Archived partition loaded: {}", archive);
+            } catch (IOException e) {
+                log.error("Error reading archived partition: {}", archive, e);
+            }
+        }
+        List<Booking> loaded = List.copyOf(bookings);
+        synchronized (archiveCache) {
+            archiveCache.put(month, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Splits the bookings of the single CSV file into monthly partitions. The file itself is kept.
+     */
+    private void migrateSingleFile() {
+        Path singleFile = directory.toAbsolutePath().resolveSibling(SINGLE_FILE_NAME);
+        if (!Files.exists(singleFile)) {
+            return;
+        }
+        List<Booking> bookings = FileStorage.loadFromFile(singleFile);
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Map<YearMonth, List<Booking>> months = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            months.computeIfAbsent(YearMonth.from(booking.getStartDateTime()), month -> new ArrayList<>()).add(booking);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Failed to create partition directory: {}", directory, e);
+            return;
+        }
+        months.forEach((month, monthBookings) -> FileStorage.saveToFileWithIds(monthBookings.stream(), activeFile(month)));
+        log.info("{} bookings split into {} partitions: {}", bookings.size(), months.size(), directory);
+    }
+
+    /**
+     * Active partition files by month, in month order.
+     */
+    private Map<YearMonth, Path> activeFiles() {
+        Map<YearMonth, Path> files = new TreeMap<>();
+        if (!Files.exists(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + ACTIVE_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(YearMonth.parse(name.substring(PREFIX.length(), name.length() - ACTIVE_SUFFIX.length())), file);
+                } catch (DateTimeParseException e) {
+                    log.warn("Ignoring unexpected file in partition directory: {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error listing partition directory: {}", directory, e);
+        }
+        return files;
+    }
+
+    private Path activeFile(YearMonth month) {
+        return directory.resolve(PREFIX + month + ACTIVE_SUFFIX);
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return directory.resolve(PREFIX + month + ARCHIVE_SUFFIX);
+    }
+}
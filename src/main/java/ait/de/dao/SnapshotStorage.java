@@ -0,0 +1,375 @@
+package ait.de.dao;
+
+import ait.de.exceptions.BookingConflictException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Booking storage whose readers never wait: all indexes form one immutable {@link Snapshot}, published
+ * through an atomic reference.
+ * <p>
+ * A reader takes the current snapshot in O(1) and sees a consistent point-in-time view for as long as it
+ * keeps it, e.g. while saving or listing; {@link #getAllBookings()} returns a view of the snapshot instead
+ * of a copy. A writer builds the next snapshot from the current one with persistent sorted maps, copying
+ * only O(log n) tree nodes, and publishes it with a compare-and-set. If another writer published first,
+ * the conflict check and the update are repeated on the newer snapshot, so a booking is never added to a
+ * schedule it was not checked against.
+ * <p>
+ * Writers serialize on the single reference, so this storage suits read-heavy loads best;
+ * {@link InMemoryStorage} lets writers to different tables proceed in parallel.
+ * <p>
+ * A cancellation removes the booking from the next snapshot right away, since a tombstone would copy the
+ * same tree paths; the canceled booking is only queued until {@link #purgeCanceled()} reports it.
+ */
+@Slf4j
+public class SnapshotStorage implements BookingRepository {
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+    private final Queue<Booking> canceled = new ConcurrentLinkedQueue<>(); // Canceled since the last purge
+
+    /**
+     * @return Current state of the storage. It never changes; later writes publish new snapshots.
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        return snapshot().getAllBookings();
+    }
+
+    @Override
+    public Stream<Booking> streamBookings() {
+        return snapshot().streamBookings();
+    }
+
+    @Override
+    public List<Booking> getBookingsPage(int afterId, int limit) {
+        return snapshot().getBookingsPage(afterId, limit);
+    }
+
+    @Override
+    public Optional<Booking> getBookingById(int bookingId) {
+        return snapshot().getBookingById(bookingId);
+    }
+
+    /**
+     * Adds a new booking to the storage after checking for conflicts.
+     *
+     * @param newBooking The booking to be added.
+     * @throws BookingConflictException if a time conflict is detected.
+     */
+    @Override
+    public void addBooking(Booking newBooking) {
+        if (!tryAddBooking(newBooking)) {
+            log.warn("Booking conflict detected: {}", newBooking);
+            throw new BookingConflictException("Booking time conflicts with an existing reservation!");
+        }
+    }
+
+    /**
+     * Checks the current snapshot and publishes one with the booking if the time is free.
+     *
+     * @param newBooking The booking to be added.
+     * @return true if the booking was added, false if it conflicts with an existing one.
+     */
+    @Override
+    public boolean tryAddBooking(Booking newBooking) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            if (snapshot.hasConflict(newBooking.getTableId(), newBooking.getStartDateTime(), newBooking.getEndDateTime())) {
+                return false;
+            }
+            if (current.compareAndSet(snapshot, snapshot.with(newBooking))) {
+                log.debug("Booking added to storage: {}", newBooking);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Restores previously accepted bookings without conflict checks, publishing a single snapshot.
+     * A booking whose table already has one with the same start time is skipped.
+     *
+     * @param restoredBookings Bookings to be restored.
+     */
+    @Override
+    public void restoreBookings(Collection<Booking> restoredBookings) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            Snapshot next = snapshot;
+            List<Booking> skipped = new ArrayList<>();
+            for (Booking booking : restoredBookings) {
+                if (next.scheduleOf(booking.getTableId()).get(booking.getStartDateTime()) != null) {
+                    skipped.add(booking);
+                } else {
+                    next = next.with(booking);
+                }
+            }
+            if (current.compareAndSet(snapshot, next)) {
+                skipped.forEach(booking -> log.warn("Skipping restored booking with an occupied start time: {}", booking));
+                log.info("{} bookings restored to storage.", restoredBookings.size() - skipped.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes a booking from storage by ID.
+     *
+     * @param bookingId The ID of the booking to be removed.
+     */
+    @Override
+    public void removeBooking(int bookingId) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            Snapshot next = snapshot.without(bookingId);
+            if (next == snapshot || current.compareAndSet(snapshot, next)) {
+                break;
+            }
+        }
+        log.debug("Booking ID={} removed from storage.", bookingId);
+    }
+
+    /**
+     * Publishes a snapshot without the booking and queues a canceled copy for {@link #purgeCanceled()}.
+     *
+     * @param bookingId The ID of the booking to be canceled.
+     * @return The canceled booking, or empty if there is no such booking.
+     */
+    @Override
+    public Optional<Booking> cancelBooking(int bookingId) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            Optional<Booking> booking = snapshot.getBookingById(bookingId);
+            if (booking.isEmpty()) {
+                return Optional.empty();
+            }
+            if (current.compareAndSet(snapshot, snapshot.without(bookingId))) {
+                Booking tombstone = booking.get().withStatus(BookingStatus.CANCELED);
+                canceled.add(tombstone);
+                log.debug("Booking ID={} canceled in storage.", bookingId);
+                return Optional.of(tombstone);
+            }
+        }
+    }
+
+    @Override
+    public List<Booking> purgeCanceled() {
+        List<Booking> purged = new ArrayList<>();
+        Booking booking;
+        while ((booking = canceled.poll()) != null) {
+            purged.add(booking);
+        }
+        return purged;
+    }
+
+    @Override
+    public boolean hasConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return snapshot().hasConflict(tableId, startDateTime, endDateTime);
+    }
+
+    @Override
+    public Optional<Booking> findConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return snapshot().findConflict(tableId, startDateTime, endDateTime);
+    }
+
+    @Override
+    public List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+        return snapshot().findTableBookings(tableId, from, to);
+    }
+
+    @Override
+    public List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+        return snapshot().findBookings(from, to);
+    }
+
+    /**
+     * Immutable state of a {@link SnapshotStorage}: bookings by ID and every table's schedule by start time.
+     * Bookings of one table never overlap, so only the booking starting right before an interval can reach into it.
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(PersistentSortedMap.empty(), PersistentSortedMap.empty());
+
+        private final PersistentSortedMap<Integer, Booking> bookings; // bookingId -> booking
+        private final PersistentSortedMap<Integer, PersistentSortedMap<LocalDateTime, Booking>> schedules; // tableId -> bookings by start
+
+        private Snapshot(PersistentSortedMap<Integer, Booking> bookings,
+                         PersistentSortedMap<Integer, PersistentSortedMap<LocalDateTime, Booking>> schedules) {
+            this.bookings = bookings;
+            this.schedules = schedules;
+        }
+
+        public int size() {
+            return bookings.size();
+        }
+
+        /**
+         * @return Unmodifiable view of all bookings ordered by ID; nothing is copied.
+         */
+        public List<Booking> getAllBookings() {
+            return new BookingList(bookings);
+        }
+
+        public Stream<Booking> streamBookings() {
+            return stream(bookings.iterator(), bookings.size());
+        }
+
+        public List<Booking> getBookingsPage(int afterId, int limit) {
+            List<Booking> page = new ArrayList<>(Math.min(limit, bookings.size()));
+            Iterator<Map.Entry<Integer, Booking>> tail = bookings.tailIterator(afterId, false);
+            while (page.size() < limit && tail.hasNext()) {
+                page.add(tail.next().getValue());
+            }
+            return page;
+        }
+
+        public Optional<Booking> getBookingById(int bookingId) {
+            return Optional.ofNullable(bookings.get(bookingId));
+        }
+
+        /**
+         * A booking starting at exactly the same time is always treated as a conflict.
+         */
+        public boolean hasConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            return findConflict(tableId, startDateTime, endDateTime).isPresent();
+        }
+
+        public Optional<Booking> findConflict(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            PersistentSortedMap<LocalDateTime, Booking> schedule = scheduleOf(tableId);
+            Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(endDateTime);
+            if (previous != null && startDateTime.isBefore(previous.getValue().getEndDateTime())) {
+                return Optional.of(previous.getValue());
+            }
+            return Optional.ofNullable(schedule.get(startDateTime));
+        }
+
+        /**
+         * @return Bookings of the table overlapping the interval, ordered by start time.
+         */
+        public List<Booking> findTableBookings(int tableId, LocalDateTime from, LocalDateTime to) {
+            List<Booking> result = new ArrayList<>();
+            if (from.isBefore(to)) {
+                addOverlapping(result, scheduleOf(tableId), from, to);
+            }
+            return result;
+        }
+
+        /**
+         * @return Bookings of all tables overlapping the interval, ordered by start time and then by ID.
+         */
+        public List<Booking> findBookings(LocalDateTime from, LocalDateTime to) {
+            List<Booking> result = new ArrayList<>();
+            if (!from.isBefore(to)) {
+                return result;
+            }
+            for (Map.Entry<Integer, PersistentSortedMap<LocalDateTime, Booking>> schedule : schedules) {
+                addOverlapping(result, schedule.getValue(), from, to);
+            }
+            result.sort(Comparator.comparing(Booking::getStartDateTime).thenComparingInt(Booking::getId));
+            return result;
+        }
+
+        private static void addOverlapping(List<Booking> result, PersistentSortedMap<LocalDateTime, Booking> schedule,
+                                           LocalDateTime from, LocalDateTime to) {
+            Map.Entry<LocalDateTime, Booking> previous = schedule.lowerEntry(from);
+            if (previous != null && from.isBefore(previous.getValue().getEndDateTime())) {
+                result.add(previous.getValue());
+            }
+            Iterator<Map.Entry<LocalDateTime, Booking>> tail = schedule.tailIterator(from, true);
+            while (tail.hasNext()) {
+                Map.Entry<LocalDateTime, Booking> entry = tail.next();
+                if (!entry.getKey().isBefore(to)) {
+                    break;
+                }
+                result.add(entry.getValue());
+            }
+        }
+
+        private PersistentSortedMap<LocalDateTime, Booking> scheduleOf(int tableId) {
+            PersistentSortedMap<LocalDateTime, Booking> schedule = schedules.get(tableId);
+            return schedule == null ? PersistentSortedMap.empty() : schedule;
+        }
+
+        private Snapshot with(Booking booking) {
+            return new Snapshot(bookings.put(booking.getId(), booking), schedules.put(booking.getTableId(),
+                    scheduleOf(booking.getTableId()).put(booking.getStartDateTime(), booking)));
+        }
+
+        /**
+         * @return Snapshot without the booking; this snapshot itself if there is no such booking.
+         */
+        private Snapshot without(int bookingId) {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                return this;
+            }
+            PersistentSortedMap<LocalDateTime, Booking> schedule = scheduleOf(booking.getTableId());
+            if (schedule.get(booking.getStartDateTime()) == booking) {
+                schedule = schedule.remove(booking.getStartDateTime());
+            }
+            return new Snapshot(bookings.remove(bookingId), schedules.put(booking.getTableId(), schedule));
+        }
+
+        private static Stream<Booking> stream(Iterator<Map.Entry<Integer, Booking>> entries, int size) {
+            Spliterator<Map.Entry<Integer, Booking>> spliterator = Spliterators.spliterator(entries, size,
+                    Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+            return StreamSupport.stream(spliterator, false).map(Map.Entry::getValue);
+        }
+    }
+
+    /**
+     * List view of an immutable ID index. Positional access walks the tree in O(log n).
+     */
+    private static final class BookingList extends AbstractList<Booking> {
+        private final PersistentSortedMap<Integer, Booking> bookings;
+
+        BookingList(PersistentSortedMap<Integer, Booking> bookings) {
+            this.bookings = bookings;
+        }
+
+        @Override
+        public Booking get(int index) {
+            return bookings.valueAt(index);
+        }
+
+        @Override
+        public int size() {
+            return bookings.size();
+        }
+
+        @Override
+        public Iterator<Booking> iterator() {
+            Iterator<Map.Entry<Integer, Booking>> entries = bookings.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Booking next() {
+                    return entries.next().getValue();
+                }
+            };
+        }
+    }
+}
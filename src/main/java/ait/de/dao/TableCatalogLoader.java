@@ -0,0 +1,62 @@
+package ait.de.dao;
+
+import ait.de.model.Table;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the tables of a venue from a CSV file with one {@code tableId,capacity,vip} line per table,
+ * e.g. {@code 12,4,false}. Blank lines and lines starting with {@code #} are ignored.
+ * <p>
+ * Unlike booking files, a table file is configuration: an invalid line fails the whole load instead of
+ * being skipped, so a venue never silently starts with tables missing.
+ */
+@Slf4j
+public class TableCatalogLoader {
+
+    /**
+     * @return Tables in file order.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @throws IllegalArgumentException if a line is invalid.
+     */
+    public static List<Table> loadFromFile(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read table file: " + file, e);
+        }
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                tables.add(parseTable(line, file, i + 1));
+            }
+        }
+        log.info("{} tables loaded from {}", tables.size(), file);
+        return tables;
+    }
+
+    private static Table parseTable(String line, Path file, int lineNumber) {
+        String[] parts = line.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid table entry in " + file + " at line " + lineNumber + ": " + line);
+        }
+        String vip = parts[2].trim();
+        if (!vip.equalsIgnoreCase("true") && !vip.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid VIP flag in " + file + " at line " + lineNumber + ": " + line);
+        }
+        try {
+            return new Table(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Boolean.parseBoolean(vip));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid table entry in " + file + " at line " + lineNumber + ": " + line, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ait.de.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link MetricsRegistry}, registered as {@value MetricsRegistry#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * @return Current value of every counter by name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return Latency statistics of every histogram by name.
+     */
+    Map<String, LatencySnapshot> getLatencies();
+
+    /**
+     * @return All metrics as the text printed by the periodic dump.
+     */
+    String getReport();
+}
@@ -0,0 +1,118 @@
+package ait.de.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named latency histograms and counters of the booking system.
+ * <p>
+ * Instrumented classes look their metrics up once and keep them in static fields, so recording
+ * costs one {@link System#nanoTime()} pair and a few atomic adds. The registry can be exposed
+ * over JMX and dumped to the log periodically.
+ */
+@Slf4j
+public class MetricsRegistry implements MetricsMXBean {
+    static final String OBJECT_NAME = "ait.de:type=Metrics";
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reporter;
+
+    /**
+     * @return Registry shared by the whole application.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return Histogram of the given name, created on first use.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * @return Counter of the given name, created on first use.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getLatencies() {
+        Map<String, LatencySnapshot> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.snapshot()));
+        return values;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder("Booking metrics");
+        getLatencies().forEach((name, snapshot) -> report.append("\n  ").append(name).append(": ").append(snapshot));
+        getCounters().forEach((name, value) -> report.append("\n  ").append(name).append(" = ").append(value));
+        return report.toString();
+    }
+
+    /**
+     * Registers the registry with the platform MBean server, unless it is registered already.
+     */
+    public synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                log.info("Metrics registered over JMX as {}", OBJECT_NAME);
+            }
+        } catch (JMException e) {
+            log.error("Failed to register metrics over JMX", e);
+        }
+    }
+
+    /**
+     * Logs the report at the given interval on a daemon thread. A second call replaces the first schedule.
+     *
+     * @param interval Time between two dumps.
+     */
+    public synchronized void startReporting(Duration interval) {
+        stopReporting();
+        reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "booking-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> log.info(getReport()),
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic dump.
+     */
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+}
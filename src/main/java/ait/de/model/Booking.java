@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a table booking in the restaurant.
@@ -16,7 +17,7 @@ import java.util.Objects;
 @Getter
 @EqualsAndHashCode(of = {"tableId", "startDateTime", "endDateTime"})
 public class Booking {
-    private static int nextId = 1; // Auto-increment ID for each booking
+    private static final AtomicInteger nextId = new AtomicInteger(1); // Auto-increment ID for each booking, safe across threads
 
     private final int id; // Unique booking ID
     private final int tableId; // Table being booked
@@ -37,6 +38,45 @@ public class Booking {
      * @throws IllegalArgumentException if the end time is before the start time.
      */
     public Booking(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime, String customerName, BookingStatus status) {
+        validate(tableId, startDateTime, endDateTime, customerName, status);
+        this.id = nextId.getAndIncrement();
+        this.tableId = tableId;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.customerName = customerName;
+        this.status = status;
+        dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    }
+
+    /**
+     * Constructor for restoring a persisted booking with its original ID.
+     * The ID counter is moved past the restored ID, so new bookings never reuse it.
+     *
+     * @param id            Original ID of the booking.
+     * @param tableId       ID of the table being booked.
+     * @param startDateTime Start time of the booking.
+     * @param endDateTime   End time of the booking.
+     * @param customerName  Name of the customer.
+     * @param status        Status of the booking.
+     * @throws IllegalArgumentException if the ID is not positive or any other field is invalid.
+     */
+    public Booking(int id, int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime, String customerName, BookingStatus status) {
+        if (id <= 0) {
+            log.error("Invalid booking ID: {}", id);
+            throw new IllegalArgumentException("Booking ID must be positive.");
+        }
+        validate(tableId, startDateTime, endDateTime, customerName, status);
+        nextId.accumulateAndGet(id + 1, Math::max);
+        this.id = id;
+        this.tableId = tableId;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.customerName = customerName;
+        this.status = status;
+        dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    }
+
+    private static void validate(int tableId, LocalDateTime startDateTime, LocalDateTime endDateTime, String customerName, BookingStatus status) {
         if (startDateTime == null) {
             log.error("Start time is null");
             throw new IllegalArgumentException("Start time must not be null.");
@@ -53,21 +93,44 @@ public class Booking {
             log.error("Customer name is null or empty.");
             throw new IllegalArgumentException("Customer name must not be empty.");
         }
+        if (!isValidCustomerName(customerName)) {
+            log.error("Customer name contains control characters.");
+            throw new IllegalArgumentException("Customer name must not contain control characters.");
+        }
         if (status == null){
             log.error("Booking status is null.");
             throw new IllegalArgumentException("Booking status must not be null.");
         }
-        this.id = nextId++;
-        this.tableId = tableId;
-        this.startDateTime = startDateTime;
-        this.endDateTime = endDateTime;
-        this.customerName = customerName;
-        this.status = status;
-        dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     }
+
+    /**
+     * Checks a customer name before it is stored. Booking files and the journal are line-based,
+     * so a name with a line break or another control character could forge records.
+     *
+     * @return true if the name is not blank and contains no control characters.
+     */
+    public static boolean isValidCustomerName(String customerName) {
+        return customerName != null && !customerName.isBlank()
+                && customerName.chars().noneMatch(Character::isISOControl);
+    }
+
+    /**
+     * @return Copy of this booking with the same ID and the given status.
+     */
+    public Booking withStatus(BookingStatus newStatus) {
+        return new Booking(id, tableId, startDateTime, endDateTime, customerName, newStatus);
+    }
+
+    /**
+     * @return true if the booking is canceled and no longer blocks its table.
+     */
+    public boolean isCanceled() {
+        return status == BookingStatus.CANCELED;
+    }
+
      //Метод для сброса nextId
     public static void resetNextId() {
-        nextId = 1;
+        nextId.set(1);
     }
     /**
      * Custom string representation of Booking.
@@ -11,21 +11,35 @@ import java.time.format.DateTimeFormatter;
 @Getter
 @EqualsAndHashCode(of = "tableId")
 public class Table {
-    private final int tableId;  // Unique table ID (1-10)
-    private final int capacity; // Number of seats (matches tableId)
+    private final int tableId;  // Unique table ID
+    private final int capacity; // Number of seats
     private final boolean isVip; // VIP status of the table
 
     /**
-     * Private constructor to enforce controlled table creation.
+     * Creates a table of the default layout, whose capacity equals its ID.
      *
      * @param tableId  Unique table ID (1-10).
      * @param isVip    Defines whether the table is VIP.
      */
     public Table(int tableId, boolean isVip) {
+        this(tableId, tableId, isVip); // Capacity is equal to tableId
+    }
+
+    /**
+     * Creates a table with its own number of seats, e.g. from a table catalog.
+     *
+     * @param tableId  Unique table ID.
+     * @param capacity Number of seats.
+     * @param isVip    Defines whether the table is VIP.
+     * @throws IllegalArgumentException if the ID or the capacity is not positive.
+     */
+    public Table(int tableId, int capacity, boolean isVip) {
+        if (tableId < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Table ID and capacity must be positive.");
+        }
         this.tableId = tableId;
-        this.capacity = tableId; // Capacity is equal to tableId
+        this.capacity = capacity;
         this.isVip = isVip;
-
     }
 
     /**
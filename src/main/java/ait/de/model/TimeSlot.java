@@ -0,0 +1,42 @@
+package ait.de.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents a free interval of a table, from start (inclusive) to end (exclusive).
+ */
+@Getter
+@EqualsAndHashCode
+public class TimeSlot {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final LocalDateTime start; // First free minute
+    private final LocalDateTime end; // End of the free interval
+
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return Length of the slot.
+     */
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    /**
+     * Custom string representation of TimeSlot.
+     *
+     * @return Formatted string with slot bounds.
+     */
+    @Override
+    public String toString() {
+        return "TimeSlot{" + start.format(FORMATTER) + " - " + end.format(FORMATTER) + '}';
+    }
+}
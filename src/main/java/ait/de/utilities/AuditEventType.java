@@ -0,0 +1,11 @@
+package ait.de.utilities;
+
+/**
+ * Kind of change or rejection recorded in the audit log.
+ */
+public enum AuditEventType {
+    CREATED,
+    CANCELED,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,11 @@
+package ait.de.utilities;
+
+/**
+ * Outcome of an attempt to create a booking.
+ */
+public enum BookingOutcome {
+    CREATED,
+    CONFLICT,
+    INVALID_TABLE,
+    INVALID_TIME
+}
@@ -0,0 +1,13 @@
+package ait.de.utilities;
+
+/**
+ * Defines when a persisted booking mutation is forced to disk.
+ */
+public enum DurabilityMode {
+    /** Every mutation is written and forced to disk on the caller's thread. */
+    SYNC,
+    /** Mutations from many callers are batched into one write and one force; callers wait for it. */
+    GROUP_COMMIT,
+    /** Mutations are queued and written in the background; callers do not wait. */
+    ASYNC
+}
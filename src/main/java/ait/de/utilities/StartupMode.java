@@ -0,0 +1,11 @@
+package ait.de.utilities;
+
+/**
+ * Defines how the booking service loads persisted bookings on startup.
+ */
+public enum StartupMode {
+    /** All bookings are loaded before the service accepts requests. */
+    BLOCKING,
+    /** Today's and future bookings are loaded first; past bookings follow on a background thread. */
+    WARM_UP
+}
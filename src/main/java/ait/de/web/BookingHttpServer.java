@@ -0,0 +1,304 @@
+package ait.de.web;
+
+import ait.de.core.BookingResult;
+import ait.de.core.BookingService;
+import ait.de.exceptions.BookingException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/JSON front end of a {@link BookingService}, built on the JDK's {@link HttpServer}.
+ * <ul>
+ *     <li>{@code POST /bookings} with {@code tableId}, {@code start}, {@code end} and {@code customerName}
+ *     creates a booking: 201, 409 with the blocking booking ID, or 400.</li>
+ *     <li>{@code POST /bookings/assign} with {@code partySize}, {@code start}, {@code end}, {@code customerName}
+ *     and optionally {@code vip} books the smallest free table that seats the party: 201, 409 or 400.</li>
+ *     <li>{@code DELETE /bookings/{id}} cancels a booking: 204 or 404.</li>
+ *     <li>{@code GET /bookings/canceled} lists the latest canceled bookings, oldest cancellation first.</li>
+ *     <li>{@code GET /bookings?afterId=0&limit=100} lists bookings by ID, one page at a time.</li>
+ *     <li>{@code GET /bookings?from=...&to=...[&tableId=...]} lists the bookings overlapping an interval.</li>
+ *     <li>{@code GET /tables/{id}/free-slots?date=2025-03-12[&minMinutes=60]} lists a table's free slots.</li>
+ * </ul>
+ * Every request runs on its own virtual thread when the JVM supports them (Java 21 and later); on older
+ * JVMs requests run on a fixed pool of {@code -Dbooking.http.threads} platform threads (default 64).
+ */
+@Slf4j
+public class BookingHttpServer {
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final BookingService bookingService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Binds the server to the loopback interface; call {@link #start()} to accept requests.
+     *
+     * @param bookingService Service handling the requests.
+     * @param port           Port to listen on, or 0 for any free port.
+     */
+    public BookingHttpServer(BookingService bookingService, int port) throws IOException {
+        this(bookingService, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public BookingHttpServer(BookingService bookingService, InetSocketAddress address) throws IOException {
+        this.bookingService = bookingService;
+        this.server = HttpServer.create(address, 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/bookings", exchange -> handle(exchange, this::handleBookings));
+        server.createContext("/tables", exchange -> handle(exchange, this::handleTables));
+    }
+
+    public void start() {
+        server.start();
+        log.info("Booking HTTP API listening on http://{}:{}", server.getAddress().getHostString(), getPort());
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones and shuts the executor down.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Uses {@code Executors.newVirtualThreadPerTaskExecutor()} if this JVM has it; the project compiles
+     * for Java 17, so it is looked up reflectively.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("HTTP requests run on virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger("booking.http.threads", 64);
+            log.info("Virtual threads not available, HTTP requests run on {} platform threads.", threads);
+            AtomicInteger counter = new AtomicInteger();
+            return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    task -> {
+                        Thread thread = new Thread(task, "http-worker-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws IOException, BookingException;
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static Response json(int status, String body) {
+        return new Response(status, body);
+    }
+
+    private static Response methodNotAllowed() {
+        return new Response(405, Json.error("Method not allowed."));
+    }
+
+    private static Response notFound() {
+        return new Response(404, Json.error("Not found."));
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        Response response;
+        try {
+            response = handler.handle(exchange);
+        } catch (BookingException | IllegalArgumentException | DateTimeParseException e) {
+            response = json(400, Json.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            response = json(500, Json.error("Internal server error."));
+        }
+        try (exchange) {
+            if (response.body == null) {
+                exchange.sendResponseHeaders(response.status, -1);
+                return;
+            }
+            byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private Response handleBookings(HttpExchange exchange) throws IOException {
+        String[] path = segments(exchange);
+        String method = exchange.getRequestMethod();
+        if (path.length == 1) {
+            return switch (method) {
+                case "GET" -> listBookings(query(exchange));
+                case "POST" -> createBooking(exchange);
+                default -> methodNotAllowed();
+            };
+        }
+        if (path.length == 2 && "assign".equals(path[1])) {
+            return "POST".equals(method) ? assignBooking(exchange) : methodNotAllowed();
+        }
+        if (path.length == 2 && "canceled".equals(path[1])) {
+            return "GET".equals(method) ? json(200, Json.bookings(bookingService.getCanceledBookings(), null)) : methodNotAllowed();
+        }
+        if (path.length == 2) {
+            return "DELETE".equals(method) ? cancelBooking(path[1]) : methodNotAllowed();
+        }
+        return notFound();
+    }
+
+    private Response handleTables(HttpExchange exchange) throws BookingException {
+        String[] path = segments(exchange);
+        if (path.length != 3 || !"free-slots".equals(path[2])) {
+            return notFound();
+        }
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            return methodNotAllowed();
+        }
+        Map<String, String> query = query(exchange);
+        int tableId = Integer.parseInt(path[1]);
+        LocalDate date = LocalDate.parse(required(query, "date"));
+        Duration minDuration = Duration.ofMinutes(Long.parseLong(query.getOrDefault("minMinutes", "60")));
+        return json(200, Json.slots(bookingService.findFreeSlots(tableId, date, minDuration)));
+    }
+
+    private Response createBooking(HttpExchange exchange) throws IOException {
+        Map<String, String> fields = Json.parseObject(readBody(exchange));
+        Booking booking = new Booking(Integer.parseInt(required(fields, "tableId")),
+                LocalDateTime.parse(required(fields, "start")), LocalDateTime.parse(required(fields, "end")),
+                customerName(fields), BookingStatus.CONFIRMED);
+        BookingResult result = bookingService.tryCreateBooking(booking);
+        return switch (result.getOutcome()) {
+            case CREATED -> json(201, Json.booking(booking));
+            case CONFLICT -> json(409, Json.conflict(result.getMessage(), result.getBlockingBookingId()));
+            default -> json(400, Json.error(result.getMessage()));
+        };
+    }
+
+    private Response assignBooking(HttpExchange exchange) throws IOException {
+        Map<String, String> fields = Json.parseObject(readBody(exchange));
+        BookingResult result = bookingService.tryAssignBooking(Integer.parseInt(required(fields, "partySize")),
+                LocalDateTime.parse(required(fields, "start")), LocalDateTime.parse(required(fields, "end")),
+                customerName(fields), Boolean.parseBoolean(fields.getOrDefault("vip", "false")));
+        return switch (result.getOutcome()) {
+            case CREATED -> json(201, Json.assigned(result.getBookingId(), result.getTableId()));
+            case CONFLICT -> json(409, Json.error(result.getMessage()));
+            default -> json(400, Json.error(result.getMessage()));
+        };
+    }
+
+    private Response cancelBooking(String id) {
+        return bookingService.cancelBooking(Integer.parseInt(id)) ? new Response(204, null) : notFound();
+    }
+
+    private Response listBookings(Map<String, String> query) {
+        if (query.containsKey("from") || query.containsKey("to")) {
+            LocalDateTime from = LocalDateTime.parse(required(query, "from"));
+            LocalDateTime to = LocalDateTime.parse(required(query, "to"));
+            List<Booking> bookings = query.containsKey("tableId")
+                    ? bookingService.findTableBookings(Integer.parseInt(query.get("tableId")), from, to)
+                    : bookingService.findBookings(from, to);
+            return json(200, Json.bookings(bookings, null));
+        }
+        int afterId = Integer.parseInt(query.getOrDefault("afterId", "0"));
+        int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)));
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<Booking> page = bookingService.getBookingsPage(afterId, limit);
+        Integer nextAfterId = page.size() == limit ? page.get(page.size() - 1).getId() : null;
+        return json(200, Json.bookings(page, nextAfterId));
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * The name is written to line-based files, so control characters such as line breaks are rejected.
+     */
+    private static String customerName(Map<String, String> fields) {
+        String customerName = required(fields, "customerName");
+        if (!Booking.isValidCustomerName(customerName)) {
+            throw new IllegalArgumentException("Customer name must not contain control characters.");
+        }
+        return customerName;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body larger than " + MAX_BODY_BYTES + " bytes.");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @return Non-empty path segments, e.g. {@code [bookings, 42]}.
+     */
+    private static String[] segments(HttpExchange exchange) {
+        return exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> values = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,211 @@
+package ait.de.web;
+
+import ait.de.model.Booking;
+import ait.de.model.TimeSlot;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API: writes bookings and slots, and reads flat request objects.
+ * Times are ISO-8601 local date-times, e.g. {@code 2025-03-12T18:00}.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String booking(Booking booking) {
+        return appendBooking(new StringBuilder(128), booking).toString();
+    }
+
+    static String bookings(List<Booking> bookings, Integer nextAfterId) {
+        StringBuilder json = new StringBuilder(64 + bookings.size() * 128).append("{\"bookings\":[");
+        for (int i = 0; i < bookings.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendBooking(json, bookings.get(i));
+        }
+        json.append(']');
+        if (nextAfterId != null) {
+            json.append(",\"nextAfterId\":").append(nextAfterId);
+        }
+        return json.append('}').toString();
+    }
+
+    static String slots(List<TimeSlot> slots) {
+        StringBuilder json = new StringBuilder("{\"freeSlots\":[");
+        for (int i = 0; i < slots.size(); i++) {
+            TimeSlot slot = slots.get(i);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"start\":\"").append(slot.getStart())
+                    .append("\",\"end\":\"").append(slot.getEnd())
+                    .append("\",\"minutes\":").append(slot.getDuration().toMinutes()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    static String assigned(int bookingId, int tableId) {
+        return "{\"id\":" + bookingId + ",\"tableId\":" + tableId + "}";
+    }
+
+    static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    static String conflict(String message, int blockingBookingId) {
+        return "{\"error\":" + quote(message) + ",\"blockingBookingId\":" + blockingBookingId + "}";
+    }
+
+    private static StringBuilder appendBooking(StringBuilder json, Booking booking) {
+        return json.append("{\"id\":").append(booking.getId())
+                .append(",\"tableId\":").append(booking.getTableId())
+                .append(",\"start\":\"").append(booking.getStartDateTime())
+                .append("\",\"end\":\"").append(booking.getEndDateTime())
+                .append("\",\"customerName\":").append(quote(booking.getCustomerName()))
+                .append(",\"status\":\"").append(booking.getStatus()).append("\"}");
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Parses an object whose values are strings, numbers, booleans or null. Values are returned as text;
+     * null values are left out.
+     *
+     * @throws IllegalArgumentException if the text is not such an object.
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> fields = new HashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                String value = parser.value();
+                if (value != null) {
+                    fields.put(name, value);
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        return fields;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("Invalid JSON: '" + c + "' expected at position " + pos);
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void end() {
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw new IllegalArgumentException("Invalid JSON: unexpected content at position " + pos);
+            }
+        }
+
+        String value() {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                return string();
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                return literal;
+            }
+            throw new IllegalArgumentException("Invalid JSON value at position " + start);
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Invalid JSON escape at position " + pos);
+                        }
+                        value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Invalid JSON: unterminated string");
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ait.de.app;
+
+import ait.de.dao.BinaryFileStorage;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BookingFileConverterTest {
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 3, 12, 18, 0);
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        Booking.resetNextId();
+    }
+
+    @Test
+    void testShouldKeepIdsInBinaryCsvRoundTrip() {
+        Path binary = directory.resolve("bookings.bin");
+        Path csv = directory.resolve("bookings.csv");
+        Path converted = directory.resolve("converted.bin");
+        BinaryFileStorage.saveToFile(List.of(
+                new Booking(7, 1, EVENING, EVENING.plusHours(2), "John Doe", BookingStatus.CONFIRMED),
+                new Booking(42, 2, EVENING, EVENING.plusHours(2), "Jane Doe", BookingStatus.PENDING)), binary);
+
+        assertEquals(2, BookingFileConverter.binaryToCsv(binary, csv));
+        Booking.resetNextId();
+        assertEquals(2, BookingFileConverter.csvToBinary(csv, converted));
+
+        List<Integer> ids = BinaryFileStorage.loadFromFile(converted).stream().map(Booking::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(7, 42), ids);
+    }
+}
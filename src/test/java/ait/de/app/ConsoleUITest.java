@@ -0,0 +1,83 @@
+package ait.de.app;
+
+import ait.de.core.BookingService;
+import ait.de.dao.BookingJournal;
+import ait.de.dao.InMemoryStorage;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import ait.de.utilities.StartupMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleUITest {
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 3, 12, 18, 0);
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        Booking.resetNextId();
+    }
+
+    private static Booking booking(LocalDateTime start) {
+        return new Booking(1, start, start.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldNotCheckpointJournalBeforeHistoryIsLoaded() throws Exception {
+        Path file = directory.resolve("bookings.journal");
+        Path snapshot = directory.resolve("bookings.journal.snapshot");
+        Files.writeString(file, "C,1,1,12.03.2020 18:00,12.03.2020 20:00,CONFIRMED,Past Guest\n"
+                + "C,2,1,12.03.2030 12:00,12.03.2030 14:00,CONFIRMED,Future Guest\n");
+        CountDownLatch releaseHistory = new CountDownLatch(1);
+        InMemoryStorage repository = new InMemoryStorage() {
+            @Override
+            public void restoreBookings(Collection<Booking> restoredBookings) {
+                if ("booking-history-loader".equals(Thread.currentThread().getName())) {
+                    try {
+                        releaseHistory.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.restoreBookings(restoredBookings);
+            }
+        };
+        BookingJournal journal = new BookingJournal(file);
+        BookingService service = new BookingService(repository, journal, StartupMode.WARM_UP);
+
+        ConsoleUI.enableCheckpointsAfterHistory(service, journal, 1);
+        service.createBooking(booking(EVENING)); // Due for a checkpoint while the past is still loading
+        Thread.sleep(200);
+
+        assertFalse(Files.exists(snapshot));
+        releaseHistory.countDown();
+        service.historyLoaded().get(5, TimeUnit.SECONDS);
+        service.createBooking(booking(EVENING.plusDays(1)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(snapshot) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        service.close();
+
+        assertTrue(Files.exists(snapshot));
+        List<Integer> restored = new BookingJournal(file).load().stream().map(Booking::getId).sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of(1, 2, 3, 4), restored);
+    }
+}
@@ -0,0 +1,53 @@
+package ait.de.app;
+
+import ait.de.dao.BookingRepository;
+import ait.de.dao.InMemoryStorage;
+import ait.de.dao.PackedStorage;
+import ait.de.dao.SnapshotStorage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadGeneratorTest {
+
+    private static void assertConsistentAfterLoad(BookingRepository repository) throws InterruptedException {
+        LoadGenerator generator = new LoadGenerator(LoadGenerator.repositoryTarget(repository), 4,
+                new int[]{60, 20, 20}, 3, 7);
+
+        LoadGenerator.Report report = generator.run(Duration.ofMillis(300), Duration.ofMillis(150));
+
+        assertTrue(report.getOperations() > 0);
+        assertTrue(report.getConflicts() > 0); // Three days are not enough for all requests
+        assertEquals(report.getOperations(), generator.getLatency(LoadGenerator.Operation.CREATE).getCount()
+                + generator.getLatency(LoadGenerator.Operation.CANCEL).getCount()
+                + generator.getLatency(LoadGenerator.Operation.LIST).getCount());
+        assertEquals(report.getCreated() - report.getCanceled(), repository.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldKeepInMemoryStorageConsistentUnderLoad() throws InterruptedException {
+        assertConsistentAfterLoad(new InMemoryStorage());
+    }
+
+    @Test
+    void testShouldKeepPackedStorageConsistentUnderLoad() throws InterruptedException {
+        assertConsistentAfterLoad(new PackedStorage());
+    }
+
+    @Test
+    void testShouldKeepSnapshotStorageConsistentUnderLoad() throws InterruptedException {
+        assertConsistentAfterLoad(new SnapshotStorage());
+    }
+
+    @Test
+    void testShouldRejectInvalidMix() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(LoadGenerator.repositoryTarget(new InMemoryStorage()), 1, new int[]{0, 0, 0}, 3, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(LoadGenerator.repositoryTarget(new InMemoryStorage()), 1, new int[]{1, 1}, 3, 7));
+    }
+}
@@ -0,0 +1,114 @@
+package ait.de.audit;
+
+import ait.de.model.Booking;
+import ait.de.utilities.AuditEventType;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditLogTest {
+    private final LocalDateTime evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+
+    private Booking booking(int tableId) {
+        return new Booking(tableId, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldWriteTypedEventsInPublishingOrder() {
+        List<AuditEvent> written = new ArrayList<>();
+        AuditLog audit = new AuditLog(8, written::add);
+        Booking booking = booking(1);
+
+        audit.created(booking);
+        audit.conflict(booking(1), booking.getId());
+        audit.invalid(booking(11), "Table number must be between 1 and 10!");
+        audit.canceled(booking);
+
+        assertEquals(4, audit.drain());
+        assertEquals(List.of(AuditEventType.CREATED, AuditEventType.CONFLICT, AuditEventType.INVALID, AuditEventType.CANCELED),
+                written.stream().map(AuditEvent::getType).collect(Collectors.toList()));
+        assertEquals(booking.getId(), written.get(1).getBlockingBookingId());
+        assertTrue(written.get(2).toString().endsWith("- Table number must be between 1 and 10!"));
+        assertEquals(0, audit.getPending());
+    }
+
+    @Test
+    void testShouldDropNewEventsWhenFull() {
+        List<AuditEvent> written = new ArrayList<>();
+        AuditLog audit = new AuditLog(3, written::add); // Rounded up to 4
+
+        for (int i = 1; i <= 6; i++) {
+            audit.created(booking(i));
+        }
+        assertFalse(audit.publish(new AuditEvent(AuditEventType.CREATED, booking(7), 0, null)));
+
+        assertEquals(3, audit.getDropped());
+        assertEquals(4, audit.drain());
+        assertEquals(List.of(1, 2, 3, 4), written.stream().map(event -> event.getBooking().getTableId()).collect(Collectors.toList()));
+        audit.created(booking(8)); // Space is reused after draining
+        assertEquals(1, audit.drain());
+    }
+
+    @Test
+    void testShouldWakeIdleWriterForNewEvents() throws InterruptedException {
+        List<AuditEvent> written = Collections.synchronizedList(new ArrayList<>());
+        AuditLog audit = new AuditLog(8, written::add);
+        audit.start();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                Thread.sleep(50); // Lets the writer park
+                audit.created(booking(i));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (written.size() < i && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(i, written.size()); // Written without a close or drain
+            }
+        } finally {
+            audit.close();
+        }
+    }
+
+    @Test
+    void testShouldDeliverEventsFromConcurrentProducersThroughWriter() throws InterruptedException {
+        List<AuditEvent> written = Collections.synchronizedList(new ArrayList<>());
+        AuditLog audit = new AuditLog(1 << 16, written::add);
+        audit.start();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5_000; i++) {
+                    audit.created(booking(1));
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        audit.close();
+
+        assertEquals(0, audit.getDropped());
+        assertEquals(20_000, written.size());
+        assertEquals(20_000, written.stream().mapToInt(event -> event.getBooking().getId()).distinct().count());
+    }
+}
@@ -0,0 +1,79 @@
+package ait.de.core;
+
+import ait.de.dao.InMemoryStorage;
+import ait.de.dao.PackedStorage;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingCompactorTest {
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 3, 12, 18, 0);
+
+    @BeforeEach
+    void setUp() {
+        Booking.resetNextId();
+    }
+
+    private static Booking booking(int tableId, int hour) {
+        return new Booking(tableId, EVENING.withHour(hour), EVENING.withHour(hour + 1), "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    private static List<Integer> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testShouldMoveTombstonesToBoundedHistory() {
+        PackedStorage storage = new PackedStorage();
+        BookingCompactor compactor = new BookingCompactor(storage, 2);
+        for (int hour = 12; hour < 16; hour++) {
+            storage.addBooking(booking(1, hour));
+        }
+        storage.cancelBooking(3);
+        storage.cancelBooking(1);
+        storage.cancelBooking(4);
+
+        assertEquals(3, compactor.compact());
+        assertEquals(0, compactor.compact());
+
+        assertEquals(List.of(1, 4), ids(compactor.getHistory())); // Oldest cancellation dropped
+        assertTrue(compactor.getHistory().stream().allMatch(Booking::isCanceled));
+        assertEquals(List.of(2), ids(storage.getAllBookings()));
+    }
+
+    @Test
+    void testShouldCompactInBackground() throws InterruptedException {
+        InMemoryStorage storage = new InMemoryStorage();
+        BookingCompactor compactor = new BookingCompactor(storage, BookingCompactor.DEFAULT_HISTORY_CAPACITY);
+        storage.addBooking(booking(1, 12));
+        storage.cancelBooking(1);
+
+        compactor.start(Duration.ofMillis(10));
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (compactor.getHistory().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            compactor.stop();
+        }
+
+        assertEquals(List.of(1), ids(compactor.getHistory()));
+        assertTrue(storage.purgeCanceled().isEmpty());
+    }
+
+    @Test
+    void testShouldRejectNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingCompactor(new InMemoryStorage(), -1));
+    }
+}
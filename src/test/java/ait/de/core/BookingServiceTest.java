@@ -1,24 +1,36 @@
 package ait.de.core;
 
+import ait.de.dao.BookingPersistence;
 import ait.de.dao.BookingRepository;
 import ait.de.dao.InMemoryStorage;
 import ait.de.exceptions.BookingConflictException;
 import ait.de.exceptions.BookingException;
 import ait.de.model.Booking;
+import ait.de.model.Table;
+import ait.de.model.TimeSlot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import ait.de.utilities.BookingOutcome;
 import ait.de.utilities.BookingStatus;
+import ait.de.utilities.StartupMode;
 
 public class BookingServiceTest {
 
@@ -168,6 +180,213 @@ public class BookingServiceTest {
         assertEquals("Table number must be between 1 and 10!", exception.getMessage());
     }
 
+    @Test
+    void testCreateBookingsReportsEveryItemInOrder() {
+        // Arrange
+        Booking existing = new Booking(3, LocalDateTime.of(2025, 3, 12, 18, 0), LocalDateTime.of(2025, 3, 12, 20, 0), "Existing Guest", BookingStatus.CONFIRMED);
+        repository.addBooking(existing);
+        Booking first = new Booking(1, LocalDateTime.of(2025, 3, 12, 12, 0), LocalDateTime.of(2025, 3, 12, 14, 0), "John Doe", BookingStatus.CONFIRMED);
+        Booking overlapsFirst = new Booking(1, LocalDateTime.of(2025, 3, 12, 13, 0), LocalDateTime.of(2025, 3, 12, 15, 0), "Jane Doe", BookingStatus.CONFIRMED);
+        Booking invalidTable = new Booking(11, LocalDateTime.of(2025, 3, 12, 12, 0), LocalDateTime.of(2025, 3, 12, 14, 0), "Max Mustermann", BookingStatus.CONFIRMED);
+        Booking afterFirst = new Booking(1, LocalDateTime.of(2025, 3, 12, 15, 0), LocalDateTime.of(2025, 3, 12, 17, 0), "Erika Mustermann", BookingStatus.CONFIRMED);
+        Booking overlapsExisting = new Booking(3, LocalDateTime.of(2025, 3, 12, 19, 0), LocalDateTime.of(2025, 3, 12, 20, 30), "Late Guest", BookingStatus.CONFIRMED);
+        Booking tooLate = new Booking(2, LocalDateTime.of(2025, 3, 12, 20, 0), LocalDateTime.of(2025, 3, 12, 21, 30), "Night Owl", BookingStatus.CONFIRMED);
+
+        // Act
+        ImportReport report = bookingService.createBookings(List.of(first, overlapsFirst, invalidTable, afterFirst, overlapsExisting, tooLate));
+
+        // Assert
+        List<ImportReport.Item> items = report.getItems();
+        assertEquals(6, items.size());
+        assertEquals(BookingOutcome.CREATED, items.get(0).getOutcome());
+        assertEquals(BookingOutcome.CONFLICT, items.get(1).getOutcome()); // Conflicts with an earlier item of the batch
+        assertEquals(BookingOutcome.INVALID_TABLE, items.get(2).getOutcome());
+        assertEquals(BookingOutcome.CREATED, items.get(3).getOutcome()); // Free once the conflicting item is skipped
+        assertEquals(BookingOutcome.CONFLICT, items.get(4).getOutcome()); // Conflicts with the repository
+        assertEquals(BookingOutcome.INVALID_TIME, items.get(5).getOutcome());
+        assertEquals("Booking must end at least one hour before closing time!", items.get(5).getMessage());
+        assertEquals(2, report.count(BookingOutcome.CREATED));
+        assertEquals(3, repository.getAllBookings().size());
+    }
+
+    @Test
+    void testFindFreeSlotsBetweenBookings() throws BookingException {
+        // Arrange
+        repository.addBooking(new Booking(1, LocalDateTime.of(2025, 3, 12, 12, 0), LocalDateTime.of(2025, 3, 12, 14, 0), "John Doe", BookingStatus.CONFIRMED));
+        repository.addBooking(new Booking(1, LocalDateTime.of(2025, 3, 12, 15, 0), LocalDateTime.of(2025, 3, 12, 18, 30), "Jane Doe", BookingStatus.CONFIRMED));
+        repository.addBooking(new Booking(2, LocalDateTime.of(2025, 3, 12, 10, 0), LocalDateTime.of(2025, 3, 12, 21, 0), "Other Table", BookingStatus.CONFIRMED));
+
+        // Act
+        List<TimeSlot> slots = bookingService.findFreeSlots(1, LocalDate.of(2025, 3, 12), Duration.ofHours(2));
+
+        // Assert: 14:00-15:00 is too short, the day ends for bookings at 21:00
+        assertEquals(List.of(
+                new TimeSlot(LocalDateTime.of(2025, 3, 12, 10, 0), LocalDateTime.of(2025, 3, 12, 12, 0)),
+                new TimeSlot(LocalDateTime.of(2025, 3, 12, 18, 30), LocalDateTime.of(2025, 3, 12, 21, 0))), slots);
+        assertTrue(bookingService.findFreeSlots(2, LocalDate.of(2025, 3, 12), Duration.ofMinutes(30)).isEmpty());
+    }
+
+    @Test
+    void testFindFreeSlotsWithInvalidTable() {
+        BookingException exception = assertThrows(BookingException.class,
+                () -> bookingService.findFreeSlots(11, LocalDate.of(2025, 3, 12), Duration.ofHours(1)));
+        assertEquals("Table number must be between 1 and 10!", exception.getMessage());
+    }
+
+    @Test
+    void testWarmUpServesCurrentBookingsWhileHistoryLoads() throws Exception {
+        CountDownLatch releaseHistory = new CountDownLatch(1);
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atTime(12, 0);
+        LocalDateTime lastWeek = LocalDate.now().minusDays(7).atTime(12, 0);
+        Booking future = new Booking(1, tomorrow, tomorrow.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        Booking past = new Booking(1, lastWeek, lastWeek.plusHours(2), "Jane Doe", BookingStatus.CONFIRMED);
+        InMemoryStorage storage = new InMemoryStorage() {
+            @Override
+            public void addBooking(Booking booking) {
+                if (booking == past) {
+                    awaitQuietly(releaseHistory); // Simulates a long history
+                }
+                super.addBooking(booking);
+            }
+        };
+
+        BookingService service = new BookingService(storage, new ListPersistence(List.of(past, future)), StartupMode.WARM_UP);
+
+        assertFalse(service.isHistoryLoaded());
+        assertEquals(List.of(future), service.getBookingsForDate(tomorrow.toLocalDate()));
+        service.createBooking(new Booking(2, tomorrow, tomorrow.plusHours(2), "New Guest", BookingStatus.CONFIRMED));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<List<Booking>> pastQuery = executor.submit(() -> service.getBookingsForDate(lastWeek.toLocalDate()));
+        Thread.sleep(100);
+        assertFalse(pastQuery.isDone()); // Waits for the history
+        releaseHistory.countDown();
+
+        assertEquals(List.of(past), pastQuery.get(5, TimeUnit.SECONDS));
+        assertTrue(service.isHistoryLoaded());
+        assertEquals(3, service.getAllBookings().size());
+        executor.shutdown();
+    }
+
+    @Test
+    void testTryCreateBookingReportsOutcomesWithoutThrowing() {
+        BookingService service = new BookingService(new InMemoryStorage(), new ListPersistence(List.of()));
+        LocalDateTime start = LocalDateTime.of(2025, 3, 12, 15, 0);
+        Booking first = new Booking(1, start, start.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        Booking overlapping = new Booking(1, start.plusHours(1), start.plusHours(3), "Jane Doe", BookingStatus.CONFIRMED);
+        Booking lateEnd = new Booking(2, start, start.plusHours(7), "Late Guest", BookingStatus.CONFIRMED);
+        Booking unknownTable = new Booking(11, start, start.plusHours(1), "Lost Guest", BookingStatus.CONFIRMED);
+
+        BookingResult created = service.tryCreateBooking(first);
+        BookingResult conflict = service.tryCreateBooking(overlapping);
+
+        assertTrue(created.isCreated());
+        assertEquals(first.getId(), created.getBookingId());
+        assertEquals(BookingOutcome.CONFLICT, conflict.getOutcome());
+        assertEquals(first.getId(), conflict.getBlockingBookingId());
+        assertEquals(BookingOutcome.INVALID_TIME, service.tryCreateBooking(lateEnd).getOutcome());
+        assertEquals(BookingOutcome.INVALID_TABLE, service.tryCreateBooking(unknownTable).getOutcome());
+        assertEquals("Table number must be between 1 and 10!", service.tryCreateBooking(unknownTable).getMessage());
+    }
+
+    @Test
+    void testTryAssignBookingPicksSmallestFreeTableThatFits() {
+        TableCatalog catalog = new TableCatalog(List.of(new Table(1, 2, false), new Table(2, 4, false),
+                new Table(3, 4, false), new Table(4, 8, false), new Table(5, 4, true)));
+        BookingService service = new BookingService(new InMemoryStorage(), new ListPersistence(List.of()),
+                StartupMode.BLOCKING, catalog);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 12, 18, 0);
+
+        BookingResult first = service.tryAssignBooking(3, start, start.plusHours(2), "John Doe", false);
+        BookingResult second = service.tryAssignBooking(3, start, start.plusHours(2), "Jane Doe", false);
+        BookingResult third = service.tryAssignBooking(3, start.plusHours(1), start.plusHours(2), "Jim Doe", false);
+        BookingResult full = service.tryAssignBooking(3, start, start.plusHours(2), "Late Doe", false);
+        BookingResult vip = service.tryAssignBooking(3, start, start.plusHours(2), "Very Important", true);
+
+        assertEquals(2, first.getTableId());
+        assertEquals(3, second.getTableId());
+        assertEquals(4, third.getTableId()); // Both four-seat tables are taken
+        assertEquals(BookingOutcome.CONFLICT, full.getOutcome());
+        assertEquals(5, vip.getTableId());
+        assertEquals(1, service.findBestTable(2, start, start.plusHours(2), false).orElseThrow().getTableId());
+        assertEquals(BookingOutcome.INVALID_TABLE, service.tryAssignBooking(9, start, start.plusHours(2), "Big Party", false).getOutcome());
+        assertEquals(BookingOutcome.INVALID_TABLE, service.tryAssignBooking(5, start, start.plusHours(2), "Big VIP", true).getOutcome());
+        assertEquals(BookingOutcome.INVALID_TIME, service.tryAssignBooking(2, start, start.minusHours(1), "Backwards", false).getOutcome());
+        assertThrows(IllegalArgumentException.class, () -> service.tryAssignBooking(2, start, start.plusHours(1), "Eve\nX,1", false));
+    }
+
+    @Test
+    void testValidatesTablesAgainstCatalog() {
+        TableCatalog catalog = new TableCatalog(List.of(new Table(12, 4, false), new Table(40, 6, true)));
+        BookingService service = new BookingService(new InMemoryStorage(), new ListPersistence(List.of()),
+                StartupMode.BLOCKING, catalog);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 12, 18, 0);
+
+        assertTrue(service.tryCreateBooking(new Booking(40, start, start.plusHours(1), "John Doe", BookingStatus.CONFIRMED)).isCreated());
+        BookingResult unknown = service.tryCreateBooking(new Booking(1, start, start.plusHours(1), "John Doe", BookingStatus.CONFIRMED));
+        assertEquals(BookingOutcome.INVALID_TABLE, unknown.getOutcome());
+        assertEquals("Unknown table number!", unknown.getMessage());
+        assertThrows(BookingException.class, () -> service.findFreeSlots(1, start.toLocalDate(), Duration.ofHours(1)));
+    }
+
+    @Test
+    void testRejectsBookingsIntoArchivedMonthsThatOverlapArchivedBookings() {
+        LocalDateTime start = LocalDate.now().minusMonths(2).atTime(18, 0);
+        Booking archived = new Booking(1, start, start.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        BookingService service = new BookingService(new InMemoryStorage(), new ListPersistence(List.of()) {
+            @Override
+            public List<Booking> loadArchived(LocalDateTime from, LocalDateTime to) {
+                return archived.getStartDateTime().isBefore(to) && from.isBefore(archived.getEndDateTime())
+                        ? List.of(archived) : List.of();
+            }
+        });
+
+        BookingResult conflict = service.tryCreateBooking(
+                new Booking(1, start.plusHours(1), start.plusHours(3), "Jane Doe", BookingStatus.CONFIRMED));
+        ImportReport report = service.createBookings(List.of(
+                new Booking(1, start, start.plusHours(1), "Jim Doe", BookingStatus.CONFIRMED),
+                new Booking(2, start, start.plusHours(1), "Jim Doe", BookingStatus.CONFIRMED)));
+
+        assertEquals(BookingOutcome.CONFLICT, conflict.getOutcome());
+        assertEquals(archived.getId(), conflict.getBlockingBookingId());
+        assertEquals(BookingOutcome.CONFLICT, report.getItems().get(0).getOutcome());
+        assertEquals(BookingOutcome.CREATED, report.getItems().get(1).getOutcome());
+        assertEquals(3, service.findBestTable(2, start, start.plusHours(2), false).orElseThrow().getTableId());
+        assertEquals(1, service.getAllBookings().size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Persistence returning fixed bookings and ignoring writes.
+     */
+    private static class ListPersistence implements BookingPersistence {
+        private final List<Booking> bookings;
+
+        ListPersistence(List<Booking> bookings) {
+            this.bookings = bookings;
+        }
+
+        @Override
+        public List<Booking> load() {
+            return bookings;
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingCanceled(Booking booking) {
+        }
+    }
+
     // Фейковая реализация BookingRepository
     private static class FakeBookingRepository implements BookingRepository {
         private final List<Booking> bookings = new ArrayList<>();
@@ -0,0 +1,134 @@
+package ait.de.core;
+
+import ait.de.dao.BookingPersistence;
+import ait.de.dao.InMemoryStorage;
+import ait.de.exceptions.BookingException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestaurantRouterTest {
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 3, 12, 18, 0);
+
+    private RestaurantRouter router;
+
+    @BeforeEach
+    void setUp() {
+        Booking.resetNextId();
+        Map<String, BookingService> restaurants = new LinkedHashMap<>();
+        restaurants.put("berlin", new BookingService(new InMemoryStorage(), new NoPersistence()));
+        restaurants.put("hamburg", new BookingService(new InMemoryStorage(), new NoPersistence()));
+        router = new RestaurantRouter(restaurants);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    private static Booking booking(int tableId, LocalDateTime start, String customerName) {
+        return new Booking(tableId, start, start.plusHours(2), customerName, BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldKeepRestaurantsApart() throws BookingException {
+        router.restaurant("berlin").createBooking(booking(3, EVENING, "Anna"));
+        router.restaurant("hamburg").createBooking(booking(3, EVENING, "Ben"));
+
+        assertEquals(1, router.restaurant("berlin").getAllBookings().size());
+        assertEquals(1, router.restaurant("hamburg").getAllBookings().size());
+        assertEquals(List.of("berlin", "hamburg"), List.copyOf(router.getRestaurantIds()));
+    }
+
+    @Test
+    void testShouldRejectUnknownRestaurant() {
+        assertThrows(IllegalArgumentException.class, () -> router.restaurant("munich"));
+        assertFalse(router.findRestaurant("munich").isPresent());
+        assertThrows(IllegalArgumentException.class, () -> new RestaurantRouter(Map.of()));
+    }
+
+    @Test
+    void testShouldFindCustomerInAllRestaurants() throws BookingException {
+        router.restaurant("berlin").createBooking(booking(1, EVENING, "Anna"));
+        router.restaurant("berlin").createBooking(booking(2, EVENING, "Ben"));
+        router.restaurant("hamburg").createBooking(booking(5, EVENING.plusDays(1), "anna"));
+
+        Map<String, List<Booking>> result = router.findCustomerBookings("ANNA");
+
+        assertEquals(1, result.get("berlin").size());
+        assertEquals(1, result.get("berlin").get(0).getTableId());
+        assertEquals(1, result.get("hamburg").size());
+        assertEquals(5, result.get("hamburg").get(0).getTableId());
+        assertTrue(router.findCustomerBookings("Carl").values().stream().allMatch(List::isEmpty));
+    }
+
+    @Test
+    void testShouldReportBookingsOfAllRestaurants() throws BookingException {
+        router.restaurant("berlin").createBooking(booking(1, EVENING, "Anna"));
+        router.restaurant("hamburg").createBooking(booking(1, EVENING.plusDays(2), "Ben"));
+
+        Map<String, List<Booking>> report = router.findBookings(EVENING.minusHours(1), EVENING.plusDays(1));
+
+        assertEquals(1, report.get("berlin").size());
+        assertTrue(report.get("hamburg").isEmpty());
+    }
+
+    @Test
+    void testShouldQueryRestaurantsInParallel() {
+        CountDownLatch started = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        Map<String, Boolean> result = router.fanOut(service -> {
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            try {
+                // Returns true only if the other restaurant is queried at the same time
+                return started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        assertEquals(Map.of("berlin", true, "hamburg", true), result);
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void testShouldRethrowQueryFailure() {
+        assertThrows(IllegalStateException.class, () -> router.fanOut(service -> {
+            throw new IllegalStateException("Restaurant offline.");
+        }));
+    }
+
+    private static class NoPersistence implements BookingPersistence {
+        @Override
+        public List<Booking> load() {
+            return List.of();
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingCanceled(Booking booking) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ait.de.core;
+
+import ait.de.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableCatalogTest {
+
+    @Test
+    void testDefaultCatalogMatchesOriginalLayout() {
+        TableCatalog catalog = TableCatalog.defaultCatalog();
+
+        assertEquals(10, catalog.size());
+        assertTrue(catalog.contains(1));
+        assertTrue(catalog.contains(10));
+        assertFalse(catalog.contains(0));
+        assertFalse(catalog.contains(11));
+        assertEquals("1-10", catalog.getIdRange());
+        assertEquals("Table number must be between 1 and 10!", catalog.getInvalidTableMessage());
+        assertEquals(7, catalog.getTable(7).orElseThrow().getCapacity());
+    }
+
+    @Test
+    void testShouldFindSmallestAcceptedTableByCapacityThenId() {
+        TableCatalog catalog = new TableCatalog(List.of(new Table(9, 6, false), new Table(3, 4, false),
+                new Table(7, 4, false), new Table(1, 2, false), new Table(5, 4, true)));
+        Set<Integer> taken = Set.of(3);
+
+        assertEquals(3, catalog.findSmallest(3, false, id -> true).orElseThrow().getTableId());
+        assertEquals(7, catalog.findSmallest(3, false, id -> !taken.contains(id)).orElseThrow().getTableId());
+        assertEquals(9, catalog.findSmallest(5, false, id -> true).orElseThrow().getTableId());
+        assertEquals(5, catalog.findSmallest(1, true, id -> true).orElseThrow().getTableId());
+        assertTrue(catalog.findSmallest(7, false, id -> true).isEmpty());
+        assertEquals(6, catalog.getMaxCapacity(false));
+        assertEquals("Unknown table number!", catalog.getInvalidTableMessage());
+    }
+
+    @Test
+    void testShouldOnlyVisitTablesThatFit() {
+        List<Table> tables = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            tables.add(new Table(id, id % 10 + 1, id % 20 == 19));
+        }
+        TableCatalog catalog = new TableCatalog(tables);
+        List<Integer> visited = new ArrayList<>();
+
+        catalog.findSmallest(10, false, id -> {
+            visited.add(id);
+            return false;
+        });
+
+        assertEquals(25, visited.size()); // The 50 tables with 10 seats, half of them VIP
+        assertTrue(visited.stream().allMatch(id -> catalog.getTable(id).orElseThrow().getCapacity() >= 10));
+    }
+
+    @Test
+    void testShouldRejectDuplicateOrMissingTables() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TableCatalog(List.of(new Table(1, 2, false), new Table(1, 4, true))));
+        assertThrows(IllegalArgumentException.class, () -> new TableCatalog(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new Table(1, 0, false));
+    }
+}
@@ -0,0 +1,86 @@
+package ait.de.dao;
+
+import ait.de.app.BookingFileConverter;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryFileStorageTest {
+    @TempDir
+    Path directory;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        evening = LocalDateTime.of(2025, 3, 12, 18, 30);
+        Booking.resetNextId();
+    }
+
+    @Test
+    void testShouldRoundTripBookingsWithIds() {
+        List<Booking> bookings = List.of(
+                new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED),
+                new Booking(2, evening, evening.plusHours(1), "Jürgen Müller, Jr.", BookingStatus.PENDING),
+                new Booking(3, evening.plusDays(1), evening.plusDays(1).plusHours(2), "John Doe", BookingStatus.CANCELED));
+        Path file = directory.resolve("bookings.bin");
+
+        BinaryFileStorage.saveToFile(bookings, file);
+        List<Booking> loaded = BinaryFileStorage.loadFromFile(file);
+
+        assertEquals(bookings.size(), loaded.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking expected = bookings.get(i);
+            Booking actual = loaded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected, actual); // Same table and times
+            assertEquals(expected.getCustomerName(), actual.getCustomerName());
+            assertEquals(expected.getStatus(), actual.getStatus());
+        }
+    }
+
+    @Test
+    void testShouldUseFixedWidthRecords() throws Exception {
+        Path file = directory.resolve("bookings.bin");
+        BinaryFileStorage.saveToFile(List.of(
+                new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED),
+                new Booking(2, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED)), file);
+
+        // Header, two records and the shared name stored once
+        assertEquals(16 + 2 * BinaryFileStorage.RECORD_SIZE + "John Doe".length(), Files.size(file));
+    }
+
+    @Test
+    void testShouldReturnEmptyListForForeignFile() throws Exception {
+        Path file = directory.resolve("bookings.bin");
+        Files.writeString(file, "1,12.03.2025 18:00,12.03.2025 20:00,John Doe,CONFIRMED");
+
+        assertTrue(BinaryFileStorage.loadFromFile(file).isEmpty());
+    }
+
+    @Test
+    void testShouldConvertBetweenCsvAndBinary() {
+        Path csv = directory.resolve("bookings.csv");
+        Path binary = directory.resolve("bookings.bin");
+        Path csvAgain = directory.resolve("bookings-again.csv");
+        FileStorage.saveToFile(List.of(
+                new Booking(4, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED),
+                new Booking(5, evening, evening.plusHours(2), "Jane Doe", BookingStatus.PENDING)), csv);
+
+        assertEquals(2, BookingFileConverter.csvToBinary(csv, binary));
+        assertEquals(2, BookingFileConverter.binaryToCsv(binary, csvAgain));
+
+        List<Booking> original = FileStorage.loadFromFile(csv);
+        List<Booking> converted = FileStorage.loadFromFile(csvAgain);
+        assertEquals(original, converted);
+    }
+}
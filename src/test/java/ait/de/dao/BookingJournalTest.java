@@ -0,0 +1,225 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import ait.de.utilities.DurabilityMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingJournalTest {
+    @TempDir
+    Path directory;
+    private Path file;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("bookings.journal");
+        evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+        Booking.resetNextId();
+    }
+
+    @Test
+    void testShouldReplayCreatedAndCanceledBookings() {
+        BookingJournal journal = new BookingJournal(file);
+        assertTrue(journal.load().isEmpty());
+        Booking first = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        Booking second = new Booking(2, evening, evening.plusHours(2), "Smith, Jane", BookingStatus.PENDING);
+        journal.bookingCreated(first);
+        journal.bookingCreated(second);
+        journal.bookingCanceled(first);
+        journal.close();
+
+        List<Booking> replayed = new BookingJournal(file).load();
+
+        assertEquals(1, replayed.size());
+        Booking restored = replayed.get(0);
+        assertEquals(second.getId(), restored.getId()); // IDs survive a restart
+        assertEquals(second, restored);
+        assertEquals("Smith, Jane", restored.getCustomerName());
+        assertEquals(BookingStatus.PENDING, restored.getStatus());
+    }
+
+    @Test
+    void testShouldAppendOneLinePerMutation() throws IOException {
+        BookingJournal journal = new BookingJournal(file);
+        journal.load();
+        Booking booking = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        journal.bookingCreated(booking);
+        journal.bookingCanceled(booking);
+        journal.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("X," + booking.getId(), lines.get(1));
+    }
+
+    @Test
+    void testShouldNotReuseIdsAfterReplay() {
+        BookingJournal journal = new BookingJournal(file);
+        journal.load();
+        journal.bookingCreated(new Booking(1, evening, evening.plusHours(1), "John Doe", BookingStatus.CONFIRMED));
+        journal.bookingCreated(new Booking(2, evening, evening.plusHours(1), "Jane Doe", BookingStatus.CONFIRMED));
+        journal.close();
+
+        Booking.resetNextId(); // Simulate a restart
+        new BookingJournal(file).load();
+        Booking fresh = new Booking(3, evening, evening.plusHours(1), "New Guest", BookingStatus.CONFIRMED);
+
+        assertEquals(3, fresh.getId());
+    }
+
+    @Test
+    void testShouldSkipTornRecord() throws IOException {
+        Files.writeString(file, "C,5,1,12.03.2025 18:00,12.03.2025 20:00,CONFIRMED,John Doe\nC,6,2,12.03.20");
+
+        List<Booking> replayed = new BookingJournal(file).load();
+
+        assertEquals(1, replayed.size());
+        assertEquals(5, replayed.get(0).getId());
+    }
+
+    @Test
+    void testShouldPersistAllRecordsFromConcurrentGroupCommits() throws Exception {
+        assertAllRecordsPersisted(DurabilityMode.GROUP_COMMIT);
+    }
+
+    @Test
+    void testShouldFlushQueuedAsyncRecordsOnClose() throws Exception {
+        assertAllRecordsPersisted(DurabilityMode.ASYNC);
+    }
+
+    @Test
+    void testShouldRestoreFromSnapshotAndShortJournalAfterCheckpoint() throws IOException {
+        InMemoryStorage storage = new InMemoryStorage();
+        BookingJournal journal = new BookingJournal(file);
+        journal.load();
+        Booking kept = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        Booking canceled = new Booking(2, evening, evening.plusHours(2), "Jane Doe", BookingStatus.CONFIRMED);
+        for (Booking booking : List.of(kept, canceled)) {
+            storage.addBooking(booking);
+            journal.bookingCreated(booking);
+        }
+        storage.removeBooking(canceled.getId());
+        journal.bookingCanceled(canceled);
+
+        journal.checkpoint(storage::getAllBookings);
+        Booking late = new Booking(3, evening, evening.plusHours(1), "Late Guest", BookingStatus.PENDING);
+        journal.bookingCreated(late);
+        journal.close();
+
+        assertEquals(1, Files.readAllLines(file).size()); // Only the record after the checkpoint
+        assertTrue(Files.exists(directory.resolve("bookings.journal.snapshot")));
+        assertFalse(Files.exists(directory.resolve("bookings.journal.old")));
+        List<Booking> restored = new BookingJournal(file).load();
+        assertEquals(List.of(kept, late), restored);
+        assertEquals(kept.getId(), restored.get(0).getId());
+    }
+
+    @Test
+    void testShouldReplayOldSegmentLeftByInterruptedCheckpoint() throws IOException {
+        Booking first = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        BinaryFileStorage.saveToFile(List.of(first), directory.resolve("bookings.journal.snapshot"));
+        Files.writeString(directory.resolve("bookings.journal.old"),
+                "C,2,2,12.03.2025 18:00,12.03.2025 20:00,CONFIRMED,Jane Doe\nX,1\n");
+        Files.writeString(file, "C,3,3,12.03.2025 18:00,12.03.2025 20:00,CONFIRMED,Late Guest\n");
+
+        List<Booking> restored = new BookingJournal(file).load();
+
+        assertEquals(List.of(2, 3), restored.stream().map(Booking::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShouldRejectAppendsAfterClose() throws IOException {
+        BookingJournal journal = new BookingJournal(file, DurabilityMode.GROUP_COMMIT, Duration.ofMillis(2));
+        journal.load();
+        Booking first = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        journal.bookingCreated(first);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.bookingCanceled(first));
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void testShouldKeepOldSegmentWhenSnapshotCannotBeWritten() throws IOException {
+        InMemoryStorage storage = new InMemoryStorage();
+        BookingJournal journal = new BookingJournal(file);
+        journal.load();
+        Booking first = new Booking(1, evening, evening.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+        storage.addBooking(first);
+        journal.bookingCreated(first);
+        // A non-empty directory where the snapshot's temporary file goes makes the write fail
+        Files.createDirectories(directory.resolve("bookings.journal.snapshot.tmp/blocked"));
+
+        journal.checkpoint(storage::getAllBookings);
+        Booking second = new Booking(2, evening, evening.plusHours(2), "Jane Doe", BookingStatus.CONFIRMED);
+        journal.bookingCreated(second);
+        journal.close();
+
+        assertFalse(Files.exists(directory.resolve("bookings.journal.snapshot")));
+        assertTrue(Files.exists(directory.resolve("bookings.journal.old")));
+        List<Booking> restored = new BookingJournal(file).load();
+        assertEquals(List.of(1, 2), restored.stream().map(Booking::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShouldTakeCheckpointInBackgroundAfterEnoughRecords() throws Exception {
+        InMemoryStorage storage = new InMemoryStorage();
+        BookingJournal journal = new BookingJournal(file);
+        journal.enableCheckpoints(storage::getAllBookings, 3);
+        journal.load();
+        for (int i = 0; i < 3; i++) {
+            Booking booking = new Booking(i + 1, evening, evening.plusHours(1), "Guest " + i, BookingStatus.CONFIRMED);
+            storage.addBooking(booking);
+            journal.bookingCreated(booking);
+        }
+        journal.close(); // Waits for the running checkpoint
+
+        assertTrue(Files.exists(directory.resolve("bookings.journal.snapshot")));
+        assertEquals(3, new BookingJournal(file).load().size());
+    }
+
+    private void assertAllRecordsPersisted(DurabilityMode mode) throws Exception {
+        BookingJournal journal = new BookingJournal(file, mode, Duration.ofMillis(2));
+        journal.load();
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 1; t <= threads; t++) {
+            int tableId = t;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    LocalDateTime start = evening.plusDays(i);
+                    journal.bookingCreated(new Booking(tableId, start, start.plusHours(1), "Guest " + i, BookingStatus.CONFIRMED));
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        assertEquals(threads * perThread, new BookingJournal(file).load().size());
+    }
+}
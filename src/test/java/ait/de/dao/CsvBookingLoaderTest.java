@@ -0,0 +1,130 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CsvBookingLoaderTest {
+    @TempDir
+    Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("bookings.csv");
+    }
+
+    /**
+     * Reference result: the line-by-line reader used before the fast loader.
+     */
+    private List<Booking> loadLineByLine() throws IOException {
+        Booking.resetNextId();
+        List<Booking> bookings = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Booking booking = FileStorage.parseBooking(line);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+        }
+        return bookings;
+    }
+
+    private List<Booking> loadFast() throws IOException {
+        Booking.resetNextId();
+        return CsvBookingLoader.load(file, Charset.defaultCharset());
+    }
+
+    private void assertSameBookings(List<Booking> expected, List<Booking> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString()); // ID, table, name, status
+            assertEquals(expected.get(i).getStartDateTime(), actual.get(i).getStartDateTime());
+            assertEquals(expected.get(i).getEndDateTime(), actual.get(i).getEndDateTime());
+        }
+    }
+
+    @Test
+    void testShouldMatchLineByLineParserOnUnusualLines() throws IOException {
+        String content = String.join("\n",
+                "1,12.03.2025 18:00,12.03.2025 20:00,John Doe,CONFIRMED",
+                "",
+                "2,12.03.2025 18:00,12.03.2025 20:00,Jane Doe,CONFIRMED,", // Trailing empty field is dropped by split
+                "3,31.04.2025 18:00,31.04.2025 20:00,Adjusted Day,PENDING", // Formatter adjusts day 31 in April
+                "+4,12.03.2025 18:00,12.03.2025 20:00,Signed Table,CONFIRMED",
+                "007,12.03.2025 18:00,12.03.2025 20:00,Leading Zeros,CONFIRMED",
+                "0,12.03.2025 18:00,12.03.2025 20:00,Zero Table,CONFIRMED",
+                "5,12.03.2025 18:00,12.03.2025 17:00,Ends Early,CONFIRMED",
+                "6,12.03.2025 18:00,12.03.2025 20:00,   ,CONFIRMED",
+                "7,12.03.2025 18:00,12.03.2025 20:00,Smith, John,CONFIRMED",
+                "8,12.03.2025 18:00,12.03.2025 20:00,Unknown Status,BOOKED",
+                "9,12.3.2025 18:00,12.03.2025 20:00,Short Date,CONFIRMED",
+                "10,29.02.2024 10:00,29.02.2024 11:00,Jürgen Müller,CANCELED",
+                "11,12.03.2025 24:00,13.03.2025 01:00,Midnight,CONFIRMED") + "\r\n"
+                + "12,12.03.2025 18:00,12.03.2025 20:00, Padded Name ,PENDING\r"
+                + "13,12.03.2025 18:00,12.03.2025 20:00,Last Line,CONFIRMED";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        assertSameBookings(loadLineByLine(), loadFast());
+    }
+
+    @Test
+    void testShouldMatchLineByLineParserAcrossParallelChunks() throws IOException {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 60_000; i++) { // About 3 MB, several chunks
+            int day = 1 + random.nextInt(28);
+            int month = 1 + random.nextInt(12);
+            int hour = 10 + random.nextInt(10);
+            content.append(1 + random.nextInt(10)).append(',')
+                    .append(String.format("%02d.%02d.2025 %02d:00", day, month, hour)).append(',')
+                    .append(String.format("%02d.%02d.2025 %02d:30", day, month, hour + 1)).append(',')
+                    .append("Guest ").append(i).append(',')
+                    .append(i % 997 == 0 ? "BROKEN" : "CONFIRMED")
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Booking> expected = loadLineByLine();
+        List<Booking> actual = loadFast();
+
+        assertSameBookings(expected, actual);
+    }
+
+    @Test
+    void testShouldSkipNamesWithControlCharacters() throws IOException {
+        Files.writeString(file, String.join("\n",
+                "1,12.03.2025 18:00,12.03.2025 20:00,John\tDoe,CONFIRMED",
+                "2,12.03.2025 18:00,12.03.2025 20:00,Jane\u0000Doe,CONFIRMED",
+                "3,12.03.2025 18:00,12.03.2025 20:00,Jim Doe,CONFIRMED"), StandardCharsets.UTF_8);
+
+        List<Booking> loaded = loadFast();
+
+        assertSameBookings(loadLineByLine(), loaded);
+        assertEquals(1, loaded.size());
+        assertEquals("Jim Doe", loaded.get(0).getCustomerName());
+    }
+
+    @Test
+    void testShouldLoadEmptyFile() throws IOException {
+        Files.writeString(file, "");
+
+        assertEquals(0, loadFast().size());
+    }
+}
@@ -0,0 +1,270 @@
+package ait.de.dao;
+
+import ait.de.exceptions.BookingConflictException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryStorageTest {
+    private InMemoryStorage storage;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        storage = new InMemoryStorage();
+        evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+        Booking.resetNextId();
+    }
+
+    private Booking booking(int tableId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(tableId, start, end, "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldDetectOverlapWithExistingBooking() {
+        storage.addBooking(booking(1, evening, evening.plusHours(2)));
+
+        assertTrue(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(3)));
+        assertTrue(storage.hasConflict(1, evening.minusHours(1), evening.plusMinutes(30)));
+        assertTrue(storage.hasConflict(1, evening.plusMinutes(30), evening.plusHours(1))); // Fully inside
+        assertTrue(storage.hasConflict(1, evening.minusHours(1), evening.plusHours(3))); // Fully around
+    }
+
+    @Test
+    void testShouldAllowAdjacentBookingsAndOtherTables() {
+        storage.addBooking(booking(1, evening, evening.plusHours(2)));
+
+        assertFalse(storage.hasConflict(1, evening.minusHours(2), evening)); // Ends when the existing one starts
+        assertFalse(storage.hasConflict(1, evening.plusHours(2), evening.plusHours(3))); // Starts when it ends
+        assertFalse(storage.hasConflict(2, evening, evening.plusHours(2))); // Different table
+    }
+
+    @Test
+    void testShouldOnlyCheckNeighbourInSortedSchedule() {
+        // Several bookings on the same table added out of order
+        storage.addBooking(booking(1, evening.plusHours(4), evening.plusHours(5)));
+        storage.addBooking(booking(1, evening, evening.plusHours(1)));
+        storage.addBooking(booking(1, evening.plusHours(2), evening.plusHours(3)));
+
+        assertFalse(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(2)));
+        assertFalse(storage.hasConflict(1, evening.plusHours(3), evening.plusHours(4)));
+        assertTrue(storage.hasConflict(1, evening.plusHours(3), evening.plusHours(4).plusMinutes(1)));
+        assertEquals(3, storage.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldThrowOnConflictingAdd() {
+        storage.addBooking(booking(1, evening, evening.plusHours(2)));
+
+        assertThrows(BookingConflictException.class,
+                () -> storage.addBooking(booking(1, evening.plusHours(1), evening.plusHours(3))));
+        assertEquals(1, storage.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldFreeTimeAfterRemoval() {
+        Booking booking = booking(1, evening, evening.plusHours(2));
+        storage.addBooking(booking);
+
+        storage.removeBooking(booking.getId());
+
+        assertFalse(storage.hasConflict(1, evening, evening.plusHours(2)));
+        assertTrue(storage.getAllBookings().isEmpty());
+        assertTrue(storage.getBookingById(booking.getId()).isEmpty());
+    }
+
+    @Test
+    void testShouldFindTableBookingsOverlappingInterval() {
+        Booking before = booking(1, evening.minusHours(3), evening.minusHours(1));
+        Booking reachingIn = booking(1, evening.minusHours(1), evening.plusMinutes(30));
+        Booking inside = booking(1, evening.plusHours(1), evening.plusHours(2));
+        Booking atEnd = booking(1, evening.plusHours(3), evening.plusHours(4));
+        storage.addBooking(atEnd);
+        storage.addBooking(inside);
+        storage.addBooking(reachingIn);
+        storage.addBooking(before);
+        storage.addBooking(booking(2, evening, evening.plusHours(1))); // Different table
+
+        assertEquals(List.of(reachingIn, inside), storage.findTableBookings(1, evening, evening.plusHours(3)));
+    }
+
+    @Test
+    void testShouldAllowOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                // All bookings target table 1 and overlap each other
+                return storage.tryAddBooking(booking(1, evening.plusMinutes(offset), evening.plusHours(2)));
+            }));
+        }
+        start.countDown();
+
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                added++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, added);
+        assertEquals(1, storage.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldAssignUniqueIdsUnderContention() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 1; t <= threads; t++) {
+            int tableId = t;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    LocalDateTime start = evening.plusDays(i);
+                    storage.addBooking(booking(tableId, start, start.plusHours(1)));
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        List<Booking> all = storage.getAllBookings();
+        HashSet<Integer> ids = new HashSet<>();
+        all.forEach(booking -> ids.add(booking.getId()));
+        assertEquals(threads * perThread, all.size());
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void testShouldPageAndStreamBookingsInIdOrder() {
+        List<Booking> added = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Booking booking = booking(5 - i, evening.plusDays(i), evening.plusDays(i).plusHours(1));
+            storage.addBooking(booking);
+            added.add(booking);
+        }
+
+        List<Booking> first = storage.getBookingsPage(0, 2);
+        List<Booking> second = storage.getBookingsPage(first.get(1).getId(), 2);
+        List<Booking> third = storage.getBookingsPage(second.get(1).getId(), 2);
+
+        assertEquals(added.subList(0, 2), first);
+        assertEquals(added.subList(2, 4), second);
+        assertEquals(added.subList(4, 5), third);
+        assertTrue(storage.getBookingsPage(third.get(0).getId(), 2).isEmpty());
+        assertEquals(added, storage.streamBookings().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShouldFindBookingsOfAllTablesOverlappingInterval() {
+        Booking longBefore = booking(1, evening.minusDays(2), evening.minusDays(2).plusHours(1));
+        Booking longReachingIn = booking(2, evening.minusHours(5), evening.plusMinutes(30));
+        Booking inside = booking(3, evening.plusHours(1), evening.plusHours(2));
+        Booking sameStart = booking(1, evening.plusHours(1), evening.plusHours(3));
+        Booking endsAtFrom = booking(4, evening.minusHours(1), evening);
+        Booking startsAtTo = booking(5, evening.plusHours(3), evening.plusHours(4));
+        for (Booking booking : List.of(startsAtTo, sameStart, inside, endsAtFrom, longReachingIn, longBefore)) {
+            storage.addBooking(booking);
+        }
+
+        // Ordered by start time, equal starts by ID
+        assertEquals(List.of(longReachingIn, inside, sameStart), storage.findBookings(evening, evening.plusHours(3)));
+
+        storage.removeBooking(sameStart.getId());
+        assertEquals(List.of(longReachingIn, inside), storage.findBookings(evening, evening.plusHours(3)));
+    }
+
+    @Test
+    void testShouldRestoreBookingsWithoutConflictChecksIntoAllIndexes() {
+        Booking first = booking(1, evening, evening.plusHours(2));
+        Booking clash = booking(1, evening, evening.plusHours(1)); // Same start, skipped
+        Booking second = booking(2, evening, evening.plusHours(2));
+
+        storage.restoreBookings(List.of(first, clash, second));
+
+        assertEquals(List.of(first, second), storage.getAllBookings());
+        assertTrue(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(3)));
+        assertEquals(List.of(first, second), storage.findBookings(evening, evening.plusHours(1)));
+    }
+
+    @Test
+    void testShouldKeepCanceledBookingAsTombstoneUntilPurge() {
+        Booking canceled = booking(1, evening, evening.plusHours(2));
+        Booking kept = booking(1, evening.plusHours(3), evening.plusHours(4));
+        storage.addBooking(canceled);
+        storage.addBooking(kept);
+
+        assertEquals(BookingStatus.CANCELED, storage.cancelBooking(canceled.getId()).orElseThrow().getStatus());
+        assertTrue(storage.cancelBooking(canceled.getId()).isEmpty()); // Already canceled
+
+        assertFalse(storage.getBookingById(canceled.getId()).isPresent());
+        assertEquals(List.of(kept.getId()), storage.getAllBookings().stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(1, storage.getBookingsPage(0, 10).size());
+        assertEquals(1, storage.findBookings(evening, evening.plusHours(5)).size());
+        assertTrue(storage.findTableBookings(1, evening, evening.plusHours(1)).isEmpty());
+        assertFalse(storage.hasConflict(1, evening, evening.plusHours(2)));
+
+        List<Booking> purged = storage.purgeCanceled();
+        assertEquals(List.of(canceled.getId()), purged.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertTrue(storage.purgeCanceled().isEmpty());
+        assertEquals(1, storage.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldLookPastTombstonesForConflicts() {
+        Booking early = booking(1, evening, evening.plusHours(1));
+        Booking canceled = booking(1, evening.plusHours(2), evening.plusHours(3));
+        storage.addBooking(early);
+        storage.addBooking(canceled);
+        storage.cancelBooking(canceled.getId());
+
+        // The tombstone starts last before the end, but the booking before it still overlaps
+        assertEquals(early.getId(), storage.findConflict(1, evening.plusMinutes(30), evening.plusHours(4))
+                .orElseThrow().getId());
+        assertFalse(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(4)));
+    }
+
+    @Test
+    void testShouldReplaceTombstonesInTheWayOfNewBooking() {
+        Booking sameStart = booking(1, evening, evening.plusHours(1));
+        Booking inside = booking(1, evening.plusHours(1), evening.plusHours(2));
+        storage.addBooking(sameStart);
+        storage.addBooking(inside);
+        storage.cancelBooking(sameStart.getId());
+        storage.cancelBooking(inside.getId());
+
+        Booking rebooked = booking(1, evening, evening.plusHours(3));
+        storage.addBooking(rebooked);
+
+        assertTrue(storage.hasConflict(1, evening.plusHours(2), evening.plusHours(4)));
+        assertEquals(List.of(rebooked), storage.findTableBookings(1, evening, evening.plusHours(3)));
+        assertEquals(2, storage.purgeCanceled().size());
+        assertEquals(List.of(rebooked.getId()),
+                storage.getAllBookings().stream().map(Booking::getId).collect(Collectors.toList()));
+        assertTrue(storage.hasConflict(1, evening, evening.plusHours(1)));
+    }
+}
@@ -0,0 +1,203 @@
+package ait.de.dao;
+
+import ait.de.exceptions.BookingConflictException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedStorageTest {
+    private PackedStorage storage;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        storage = new PackedStorage();
+        evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+        Booking.resetNextId();
+    }
+
+    private Booking booking(int tableId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(tableId, start, end, "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldDetectConflictsLikeInMemoryStorage() {
+        storage.addBooking(booking(1, evening.plusHours(4), evening.plusHours(5)));
+        storage.addBooking(booking(1, evening, evening.plusHours(2)));
+
+        assertTrue(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(3)));
+        assertTrue(storage.hasConflict(1, evening.minusHours(1), evening.plusMinutes(30)));
+        assertTrue(storage.hasConflict(1, evening.plusMinutes(30), evening.plusHours(1))); // Fully inside
+        assertTrue(storage.hasConflict(1, evening.plusHours(3), evening.plusHours(4).plusSeconds(1)));
+        assertFalse(storage.hasConflict(1, evening.minusHours(2), evening)); // Adjacent before
+        assertFalse(storage.hasConflict(1, evening.plusHours(2), evening.plusHours(4))); // Gap between bookings
+        assertFalse(storage.hasConflict(2, evening, evening.plusHours(2))); // Different table
+        assertThrows(BookingConflictException.class,
+                () -> storage.addBooking(booking(1, evening.plusHours(1), evening.plusHours(3))));
+    }
+
+    @Test
+    void testShouldMaterializeBookingsWithOriginalFields() {
+        Booking stored = new Booking(42, 3, evening, evening.plusHours(2), "Jane Roe", BookingStatus.PENDING);
+        storage.addBooking(stored);
+
+        Booking loaded = storage.getBookingById(42).orElseThrow();
+
+        assertEquals(42, loaded.getId());
+        assertEquals(stored, loaded);
+        assertEquals("Jane Roe", loaded.getCustomerName());
+        assertEquals(BookingStatus.PENDING, loaded.getStatus());
+    }
+
+    @Test
+    void testShouldKeepBookingsOrderedByIdAndRemoveThem() {
+        Booking first = booking(1, evening.plusHours(2), evening.plusHours(3));
+        Booking second = booking(1, evening, evening.plusHours(1));
+        Booking third = booking(2, evening, evening.plusHours(1));
+        storage.addBooking(first);
+        storage.addBooking(second);
+        storage.addBooking(third);
+
+        storage.removeBooking(second.getId());
+
+        assertEquals(List.of(first, third), storage.getAllBookings());
+        assertTrue(storage.getBookingById(second.getId()).isEmpty());
+        assertFalse(storage.hasConflict(1, evening, evening.plusHours(1)));
+    }
+
+    @Test
+    void testShouldFindTableBookingsOverlappingInterval() {
+        Booking before = booking(1, evening.minusHours(3), evening.minusHours(1));
+        Booking reachingIn = booking(1, evening.minusHours(1), evening.plusMinutes(30));
+        Booking inside = booking(1, evening.plusHours(1), evening.plusHours(2));
+        Booking atEnd = booking(1, evening.plusHours(3), evening.plusHours(4));
+        storage.addBooking(atEnd);
+        storage.addBooking(inside);
+        storage.addBooking(reachingIn);
+        storage.addBooking(before);
+
+        assertEquals(List.of(reachingIn, inside), storage.findTableBookings(1, evening, evening.plusHours(3)));
+    }
+
+    @Test
+    void testShouldRejectTimesBetweenMinutes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.addBooking(booking(1, evening.plusSeconds(30), evening.plusHours(1))));
+        assertTrue(storage.getAllBookings().isEmpty());
+    }
+
+    @Test
+    void testShouldPageAndStreamBookingsInIdOrder() {
+        List<Booking> added = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Booking booking = booking(5 - i, evening.plusDays(i), evening.plusDays(i).plusHours(1));
+            storage.addBooking(booking);
+            added.add(booking);
+        }
+
+        List<Booking> first = storage.getBookingsPage(0, 2);
+        List<Booking> second = storage.getBookingsPage(first.get(1).getId(), 2);
+        List<Booking> third = storage.getBookingsPage(second.get(1).getId(), 2);
+
+        assertEquals(added.subList(0, 2), first);
+        assertEquals(added.subList(2, 4), second);
+        assertEquals(added.subList(4, 5), third);
+        assertTrue(storage.getBookingsPage(third.get(0).getId(), 2).isEmpty());
+        assertEquals(added, storage.streamBookings().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShouldPageAcrossIdGapsAndBatches() {
+        List<Integer> added = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            int id = i < 300 ? i + 1 : 500_000 + i; // A large gap in the middle, e.g. IDs taken by other shards
+            storage.addBooking(new Booking(id, 1 + i % 10, evening.plusDays(i), evening.plusDays(i).plusHours(1),
+                    "John Doe", BookingStatus.CONFIRMED));
+            added.add(id);
+        }
+        storage.cancelBooking(300);
+        storage.cancelBooking(500_300);
+        added.remove(Integer.valueOf(300));
+        added.remove(Integer.valueOf(500_300));
+
+        List<Integer> paged = new ArrayList<>();
+        List<Booking> page = storage.getBookingsPage(0, 100);
+        while (!page.isEmpty()) {
+            page.forEach(booking -> paged.add(booking.getId()));
+            page = storage.getBookingsPage(page.get(page.size() - 1).getId(), 100);
+        }
+
+        assertEquals(added, paged);
+        assertEquals(added, storage.streamBookings().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(List.of(298, 299), storage.getBookingsPage(297, 2).stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(500_301, storage.getBookingsPage(299, 1).get(0).getId());
+    }
+
+    @Test
+    void testShouldKeepCanceledBookingAsTombstoneUntilPurge() {
+        Booking canceled = booking(1, evening, evening.plusHours(2));
+        Booking kept = booking(1, evening.plusHours(3), evening.plusHours(4));
+        storage.addBooking(canceled);
+        storage.addBooking(kept);
+
+        assertEquals(BookingStatus.CANCELED, storage.cancelBooking(canceled.getId()).orElseThrow().getStatus());
+        assertTrue(storage.cancelBooking(canceled.getId()).isEmpty()); // Already canceled
+
+        assertFalse(storage.getBookingById(canceled.getId()).isPresent());
+        assertEquals(List.of(kept.getId()), storage.getAllBookings().stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(1, storage.getBookingsPage(0, 10).size());
+        assertEquals(1, storage.findBookings(evening, evening.plusHours(5)).size());
+        assertTrue(storage.findTableBookings(1, evening, evening.plusHours(1)).isEmpty());
+        assertFalse(storage.hasConflict(1, evening, evening.plusHours(2)));
+
+        List<Booking> purged = storage.purgeCanceled();
+        assertEquals(List.of(canceled.getId()), purged.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertTrue(storage.purgeCanceled().isEmpty());
+        assertEquals(1, storage.getAllBookings().size());
+    }
+
+    @Test
+    void testShouldLookPastTombstonesForConflicts() {
+        Booking early = booking(1, evening, evening.plusHours(1));
+        Booking canceled = booking(1, evening.plusHours(2), evening.plusHours(3));
+        storage.addBooking(early);
+        storage.addBooking(canceled);
+        storage.cancelBooking(canceled.getId());
+
+        // The tombstone starts last before the end, but the booking before it still overlaps
+        assertEquals(early.getId(), storage.findConflict(1, evening.plusMinutes(30), evening.plusHours(4))
+                .orElseThrow().getId());
+        assertFalse(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(4)));
+    }
+
+    @Test
+    void testShouldReplaceTombstonesInTheWayOfNewBooking() {
+        Booking sameStart = booking(1, evening, evening.plusHours(1));
+        Booking inside = booking(1, evening.plusHours(1), evening.plusHours(2));
+        storage.addBooking(sameStart);
+        storage.addBooking(inside);
+        storage.cancelBooking(sameStart.getId());
+        storage.cancelBooking(inside.getId());
+
+        Booking rebooked = booking(1, evening, evening.plusHours(3));
+        storage.addBooking(rebooked);
+
+        assertTrue(storage.hasConflict(1, evening.plusHours(2), evening.plusHours(4)));
+        assertEquals(List.of(rebooked), storage.findTableBookings(1, evening, evening.plusHours(3)));
+        assertEquals(2, storage.purgeCanceled().size());
+        assertEquals(List.of(rebooked.getId()),
+                storage.getAllBookings().stream().map(Booking::getId).collect(Collectors.toList()));
+        assertTrue(storage.hasConflict(1, evening, evening.plusHours(1)));
+    }
+}
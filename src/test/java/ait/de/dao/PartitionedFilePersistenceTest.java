@@ -0,0 +1,116 @@
+package ait.de.dao;
+
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedFilePersistenceTest {
+    @TempDir
+    Path directory;
+    private Path partitions;
+    private Clock march;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        partitions = directory.resolve("partitions");
+        march = Clock.fixed(LocalDateTime.of(2025, 3, 12, 9, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+        Booking.resetNextId();
+    }
+
+    private Booking booking(int tableId, LocalDateTime start) {
+        return new Booking(tableId, start, start.plusHours(2), "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldRewriteOnlyThePartitionOfTheChangedMonth() throws IOException {
+        InMemoryStorage storage = new InMemoryStorage();
+        PartitionedFilePersistence persistence = new PartitionedFilePersistence(storage, partitions, march);
+        persistence.load();
+        Booking inMarch = booking(1, evening);
+        Booking inApril = booking(1, evening.plusMonths(1));
+        storage.addBooking(inMarch);
+        persistence.bookingCreated(inMarch);
+        storage.addBooking(inApril);
+        persistence.bookingCreated(inApril);
+        storage.removeBooking(inMarch.getId());
+        persistence.bookingCanceled(inMarch);
+
+        assertTrue(Files.readAllLines(partitions.resolve("bookings-2025-03.csv")).isEmpty());
+        assertEquals(1, Files.readAllLines(partitions.resolve("bookings-2025-04.csv")).size());
+    }
+
+    @Test
+    void testShouldArchivePastMonthsAndLoadThemOnlyOnDemand() {
+        InMemoryStorage storage = new InMemoryStorage();
+        PartitionedFilePersistence persistence = new PartitionedFilePersistence(storage, partitions, march);
+        persistence.load();
+        Booking lastMonth = booking(2, evening.minusMonths(1));
+        Booking thisMonth = booking(2, evening);
+        storage.restoreBookings(List.of(lastMonth, thisMonth));
+        persistence.bookingsCreated(List.of(lastMonth, thisMonth));
+
+        Clock april = Clock.offset(march, Duration.ofDays(31));
+        PartitionedFilePersistence restarted = new PartitionedFilePersistence(new InMemoryStorage(), partitions, april);
+        List<Booking> active = restarted.load();
+
+        assertTrue(active.isEmpty()); // March and February are closed in April
+        assertFalse(Files.exists(partitions.resolve("bookings-2025-02.csv")));
+        assertTrue(Files.exists(partitions.resolve("bookings-2025-02.csv.gz")));
+        List<Booking> archived = restarted.loadArchived(evening.minusMonths(1).toLocalDate().atStartOfDay(),
+                evening.minusMonths(1).toLocalDate().plusDays(1).atStartOfDay());
+        assertEquals(List.of(lastMonth), archived);
+    }
+
+    @Test
+    void testShouldKeepBookingIdsInActiveAndArchivedPartitions() {
+        InMemoryStorage storage = new InMemoryStorage();
+        PartitionedFilePersistence persistence = new PartitionedFilePersistence(storage, partitions, march);
+        persistence.load();
+        Booking thisMonth = booking(3, evening);
+        Booking nextMonth = booking(3, evening.plusMonths(1));
+        storage.restoreBookings(List.of(thisMonth, nextMonth));
+        persistence.bookingsCreated(List.of(thisMonth, nextMonth));
+
+        Clock april = Clock.offset(march, Duration.ofDays(31));
+        List<Booking> active = new PartitionedFilePersistence(new InMemoryStorage(), partitions, april).load();
+        for (int restart = 0; restart < 2; restart++) { // Every restart reads the archive again
+            List<Booking> archived = new PartitionedFilePersistence(new InMemoryStorage(), partitions, april)
+                    .loadArchived(evening.minusHours(1), evening.plusHours(1));
+            assertEquals(1, archived.size());
+            assertEquals(thisMonth.getId(), archived.get(0).getId());
+        }
+
+        assertEquals(1, active.size());
+        assertEquals(nextMonth.getId(), active.get(0).getId());
+        assertEquals(nextMonth.getId() + 1, booking(3, evening.plusMonths(2)).getId()); // No IDs used up by reads
+    }
+
+    @Test
+    void testShouldSplitSingleFileIntoPartitionsOnFirstStart() {
+        FileStorage.saveToFile(List.of(booking(1, evening), booking(1, evening.plusMonths(2))),
+                directory.resolve("bookings.csv"));
+
+        List<Booking> loaded = new PartitionedFilePersistence(new InMemoryStorage(), partitions, march).load();
+
+        assertEquals(2, loaded.size());
+        assertTrue(Files.exists(partitions.resolve("bookings-2025-03.csv")));
+        assertTrue(Files.exists(partitions.resolve("bookings-2025-05.csv")));
+    }
+}
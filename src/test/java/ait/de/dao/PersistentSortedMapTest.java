@@ -0,0 +1,68 @@
+package ait.de.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PersistentSortedMapTest {
+
+    private static List<Integer> keys(Iterator<Map.Entry<Integer, String>> entries) {
+        List<Integer> keys = new ArrayList<>();
+        entries.forEachRemaining(entry -> keys.add(entry.getKey()));
+        return keys;
+    }
+
+    @Test
+    void testShouldBehaveLikeTreeMapUnderRandomUpdates() {
+        Random random = new Random(1);
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty();
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, "v" + i);
+                map = map.put(key, "v" + i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()), keys(map.iterator()));
+        for (int key = -1; key <= 501; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            Map.Entry<Integer, String> lower = expected.lowerEntry(key);
+            assertEquals(lower == null ? null : lower.getKey(),
+                    map.lowerEntry(key) == null ? null : map.lowerEntry(key).getKey());
+            assertEquals(new ArrayList<>(expected.tailMap(key, true).keySet()), keys(map.tailIterator(key, true)));
+            assertEquals(new ArrayList<>(expected.tailMap(key, false).keySet()), keys(map.tailIterator(key, false)));
+        }
+        List<String> values = new ArrayList<>(expected.values());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), map.valueAt(i));
+        }
+    }
+
+    @Test
+    void testShouldLeaveOlderVersionsUnchanged() {
+        PersistentSortedMap<Integer, String> first = PersistentSortedMap.<Integer, String>empty().put(1, "a").put(2, "b");
+        PersistentSortedMap<Integer, String> second = first.put(3, "c").remove(1).put(2, "B");
+
+        assertEquals(List.of(1, 2), keys(first.iterator()));
+        assertEquals("b", first.get(2));
+        assertEquals(List.of(2, 3), keys(second.iterator()));
+        assertEquals("B", second.get(2));
+        assertNull(second.get(1));
+        assertSame(second, second.remove(42)); // Nothing to remove, nothing copied
+    }
+}
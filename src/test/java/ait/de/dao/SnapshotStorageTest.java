@@ -0,0 +1,151 @@
+package ait.de.dao;
+
+import ait.de.exceptions.BookingConflictException;
+import ait.de.model.Booking;
+import ait.de.utilities.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotStorageTest {
+    private SnapshotStorage storage;
+    private LocalDateTime evening;
+
+    @BeforeEach
+    void setUp() {
+        storage = new SnapshotStorage();
+        evening = LocalDateTime.of(2025, 3, 12, 18, 0);
+        Booking.resetNextId();
+    }
+
+    private Booking booking(int tableId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(tableId, start, end, "John Doe", BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testShouldDetectConflictsLikeInMemoryStorage() {
+        Booking later = booking(1, evening.plusHours(4), evening.plusHours(5));
+        Booking first = booking(1, evening, evening.plusHours(2));
+        storage.addBooking(later);
+        storage.addBooking(first);
+
+        assertTrue(storage.hasConflict(1, evening.plusHours(1), evening.plusHours(3)));
+        assertTrue(storage.hasConflict(1, evening.plusMinutes(30), evening.plusHours(1))); // Fully inside
+        assertFalse(storage.hasConflict(1, evening.minusHours(2), evening)); // Adjacent before
+        assertFalse(storage.hasConflict(1, evening.plusHours(2), evening.plusHours(4))); // Gap between bookings
+        assertFalse(storage.hasConflict(2, evening, evening.plusHours(2))); // Different table
+        assertEquals(later, storage.findConflict(1, evening.plusHours(3), evening.plusHours(6)).orElseThrow());
+        assertThrows(BookingConflictException.class,
+                () -> storage.addBooking(booking(1, evening.plusHours(1), evening.plusHours(3))));
+    }
+
+    @Test
+    void testShouldFreeCanceledTimeAtOnceAndReportItOnPurge() {
+        Booking canceled = booking(1, evening, evening.plusHours(2));
+        storage.addBooking(canceled);
+        SnapshotStorage.Snapshot before = storage.snapshot();
+
+        assertEquals(BookingStatus.CANCELED, storage.cancelBooking(canceled.getId()).orElseThrow().getStatus());
+        assertTrue(storage.cancelBooking(canceled.getId()).isEmpty());
+
+        assertFalse(storage.hasConflict(1, evening, evening.plusHours(2)));
+        assertTrue(before.hasConflict(1, evening, evening.plusHours(2)));
+        assertEquals(List.of(canceled.getId()), storage.purgeCanceled().stream().map(Booking::getId).collect(Collectors.toList()));
+        assertTrue(storage.purgeCanceled().isEmpty());
+    }
+
+    @Test
+    void testShouldKeepSnapshotUnchangedByLaterWrites() {
+        Booking kept = booking(1, evening, evening.plusHours(2));
+        Booking removed = booking(2, evening, evening.plusHours(2));
+        storage.addBooking(kept);
+        storage.addBooking(removed);
+        SnapshotStorage.Snapshot before = storage.snapshot();
+        List<Booking> allBefore = storage.getAllBookings();
+
+        storage.removeBooking(removed.getId());
+        Booking added = booking(3, evening, evening.plusHours(1));
+        storage.addBooking(added);
+
+        assertEquals(List.of(kept, removed), allBefore);
+        assertEquals(2, before.size());
+        assertTrue(before.getBookingById(removed.getId()).isPresent());
+        assertFalse(before.hasConflict(3, evening, evening.plusHours(1)));
+        assertEquals(List.of(kept, added), storage.getAllBookings());
+        assertFalse(storage.hasConflict(2, evening, evening.plusHours(2)));
+        assertThrows(UnsupportedOperationException.class, () -> storage.getAllBookings().add(added));
+    }
+
+    @Test
+    void testShouldFindRangesAndPagesLikeInMemoryStorage() {
+        Booking reachingIn = booking(2, evening.minusHours(1), evening.plusMinutes(30));
+        Booking inside = booking(1, evening.plusHours(1), evening.plusHours(2));
+        Booking sameStart = booking(3, evening.plusHours(1), evening.plusHours(3));
+        Booking after = booking(1, evening.plusHours(3), evening.plusHours(4));
+        for (Booking booking : List.of(after, sameStart, inside, reachingIn)) {
+            storage.addBooking(booking);
+        }
+
+        assertEquals(List.of(reachingIn, inside, sameStart), storage.findBookings(evening, evening.plusHours(3)));
+        assertEquals(List.of(inside, after), storage.findTableBookings(1, evening, evening.plusHours(5)));
+        assertEquals(List.of(reachingIn, inside, sameStart, after), storage.findBookings(evening.minusDays(1), evening.plusDays(1)));
+        assertEquals(List.of(reachingIn, inside), storage.getBookingsPage(0, 2));
+        assertEquals(List.of(sameStart, after), storage.getBookingsPage(inside.getId(), 2));
+        assertEquals(List.of(reachingIn, inside, sameStart, after), storage.streamBookings().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShouldRestoreInOneStepSkippingOccupiedStarts() {
+        Booking existing = booking(1, evening, evening.plusHours(2));
+        storage.addBooking(existing);
+        Booking clash = booking(1, evening, evening.plusHours(1));
+        Booking other = booking(2, evening, evening.plusHours(1));
+
+        storage.restoreBookings(List.of(clash, other));
+
+        assertEquals(List.of(existing, other), storage.getAllBookings());
+    }
+
+    @Test
+    void testShouldNeverDoubleBookUnderConcurrentWriters() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int added = 0;
+                for (int slot = 0; slot < 200; slot++) {
+                    LocalDateTime slotStart = evening.plusHours(slot);
+                    if (storage.tryAddBooking(booking(slot % 3 + 1, slotStart, slotStart.plusHours(1)))) {
+                        added++;
+                    }
+                }
+                return added;
+            }));
+        }
+        start.countDown();
+        int added = 0;
+        for (Future<Integer> result : results) {
+            added += result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200, added);
+        assertEquals(200, storage.getAllBookings().size());
+    }
+}
@@ -0,0 +1,44 @@
+package ait.de.dao;
+
+import ait.de.model.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableCatalogLoaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testShouldLoadTablesSkippingCommentsAndBlankLines() throws IOException {
+        Path file = Files.writeString(directory.resolve("tables.csv"),
+                "# tableId,capacity,vip\n12,4,false\n\n 40 , 6 , TRUE \n");
+
+        List<Table> tables = TableCatalogLoader.loadFromFile(file);
+
+        assertEquals(2, tables.size());
+        assertEquals(12, tables.get(0).getTableId());
+        assertEquals(4, tables.get(0).getCapacity());
+        assertEquals(6, tables.get(1).getCapacity());
+        assertTrue(tables.get(1).isVip());
+    }
+
+    @Test
+    void testShouldFailOnInvalidLine() throws IOException {
+        Path file = Files.writeString(directory.resolve("tables.csv"), "1,2,false\n2,two,false\n");
+        Path badFlag = Files.writeString(directory.resolve("flags.csv"), "1,2,yes\n");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> TableCatalogLoader.loadFromFile(file));
+        assertTrue(exception.getMessage().contains("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> TableCatalogLoader.loadFromFile(badFlag));
+    }
+}
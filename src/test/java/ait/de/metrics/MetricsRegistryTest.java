@@ -0,0 +1,33 @@
+package ait.de.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    void testShouldExposeCountersAndLatenciesOverJmx() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.counter("test.counter").add(3);
+        registry.histogram("test.latency").record(2_000);
+        registry.registerMBean();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.OBJECT_NAME);
+        TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+        TabularData latencies = (TabularData) server.getAttribute(name, "Latencies");
+
+        assertEquals(3L, counters.get(new Object[]{"test.counter"}).get("value"));
+        CompositeData latency = (CompositeData) latencies.get(new Object[]{"test.latency"}).get("value");
+        assertEquals(1L, latency.get("count"));
+        assertTrue(((String) server.getAttribute(name, "Report")).contains("test.counter = 3"));
+    }
+}
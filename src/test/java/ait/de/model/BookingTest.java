@@ -62,6 +62,14 @@ public class BookingTest {
         assertThrows(IllegalArgumentException.class, () -> new Booking(1, startDateTime, endDateTime, "", BookingStatus.CONFIRMED));
     }
 
+    @Test
+    void testShouldThrowExceptionIfCustomerNameContainsLineBreak() {
+        // A name with a line break could forge records in the line-based journal and CSV files
+        assertThrows(IllegalArgumentException.class, () -> new Booking(1, startDateTime, endDateTime, "Eve\nX,1", BookingStatus.CONFIRMED));
+        assertThrows(IllegalArgumentException.class, () -> new Booking(7, 1, startDateTime, endDateTime, "Eve\rX,1", BookingStatus.CONFIRMED));
+        assertThrows(IllegalArgumentException.class, () -> new Booking(1, startDateTime, endDateTime, "Eve\u0000", BookingStatus.CONFIRMED));
+    }
+
     @Test
     void testShouldThrowExceptionIfStatusIsNull() {
         // Проверка, что если статус null, будет выброшено исключение
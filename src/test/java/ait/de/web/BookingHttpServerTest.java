@@ -0,0 +1,148 @@
+package ait.de.web;
+
+import ait.de.core.BookingService;
+import ait.de.dao.BookingPersistence;
+import ait.de.dao.InMemoryStorage;
+import ait.de.model.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingHttpServerTest {
+    private BookingHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Booking.resetNextId();
+        server = new BookingHttpServer(new BookingService(new InMemoryStorage(), new NoPersistence()), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> create(int tableId, String start, String end) throws Exception {
+        return send("POST", "/bookings", "{\"tableId\": " + tableId + ", \"start\": \"" + start
+                + "\", \"end\": \"" + end + "\", \"customerName\": \"Jane \\\"JJ\\\" Roe\"}");
+    }
+
+    @Test
+    void testShouldCreateAndReportConflicts() throws Exception {
+        HttpResponse<String> created = create(3, "2030-03-12T18:00", "2030-03-12T20:00");
+        HttpResponse<String> conflict = create(3, "2030-03-12T19:00", "2030-03-12T20:00");
+        HttpResponse<String> invalid = create(11, "2030-03-12T18:00", "2030-03-12T20:00");
+
+        assertEquals(201, created.statusCode());
+        Map<String, String> booking = Json.parseObject(created.body());
+        assertEquals("1", booking.get("id"));
+        assertEquals("Jane \"JJ\" Roe", booking.get("customerName"));
+        assertEquals("2030-03-12T18:00", booking.get("start"));
+        assertEquals(409, conflict.statusCode());
+        assertEquals("1", Json.parseObject(conflict.body()).get("blockingBookingId"));
+        assertEquals(400, invalid.statusCode());
+        assertEquals("Table number must be between 1 and 10!", Json.parseObject(invalid.body()).get("error"));
+    }
+
+    @Test
+    void testShouldListPagesAndRanges() throws Exception {
+        create(1, "2030-03-12T18:00", "2030-03-12T20:00");
+        create(2, "2030-03-12T10:00", "2030-03-12T12:00");
+        create(1, "2030-03-13T18:00", "2030-03-13T20:00");
+
+        HttpResponse<String> firstPage = send("GET", "/bookings?limit=2", null);
+        HttpResponse<String> lastPage = send("GET", "/bookings?afterId=2&limit=2", null);
+        HttpResponse<String> range = send("GET", "/bookings?from=2030-03-12T00:00&to=2030-03-13T00:00", null);
+        HttpResponse<String> tableRange = send("GET", "/bookings?from=2030-03-12T00:00&to=2030-03-14T00:00&tableId=1", null);
+
+        assertEquals(200, firstPage.statusCode());
+        assertTrue(firstPage.body().endsWith("],\"nextAfterId\":2}"));
+        assertTrue(lastPage.body().startsWith("{\"bookings\":[{\"id\":3,"));
+        assertTrue(lastPage.body().endsWith("]}"));
+        assertTrue(range.body().matches("\\{\"bookings\":\\[\\{\"id\":2,.*\\},\\{\"id\":1,.*\\}]}"));
+        assertEquals(2, tableRange.body().split("\"tableId\":1").length - 1);
+    }
+
+    @Test
+    void testShouldFindFreeSlotsAndCancel() throws Exception {
+        create(4, "2030-03-12T12:00", "2030-03-12T14:00");
+
+        HttpResponse<String> slots = send("GET", "/tables/4/free-slots?date=2030-03-12&minMinutes=90", null);
+        HttpResponse<String> canceled = send("DELETE", "/bookings/1", null);
+        HttpResponse<String> missing = send("DELETE", "/bookings/1", null);
+
+        assertEquals(200, slots.statusCode());
+        assertEquals("{\"freeSlots\":[{\"start\":\"2030-03-12T10:00\",\"end\":\"2030-03-12T12:00\",\"minutes\":120},"
+                + "{\"start\":\"2030-03-12T14:00\",\"end\":\"2030-03-12T21:00\",\"minutes\":420}]}", slots.body());
+        assertEquals(204, canceled.statusCode());
+        assertEquals(404, missing.statusCode());
+        HttpResponse<String> history = send("GET", "/bookings/canceled", null);
+        assertEquals(200, history.statusCode());
+        assertTrue(history.body().matches("\\{\"bookings\":\\[\\{\"id\":1,.*\"status\":\"CANCELED\".*}]}"), history.body());
+    }
+
+    @Test
+    void testShouldAssignSmallestFreeTable() throws Exception {
+        String party = "{\"partySize\": 5, \"start\": \"2030-03-12T18:00\", \"end\": \"2030-03-12T20:00\", \"customerName\": \"Jane Roe\"}";
+
+        HttpResponse<String> first = send("POST", "/bookings/assign", party);
+        HttpResponse<String> second = send("POST", "/bookings/assign", party);
+        HttpResponse<String> tooBig = send("POST", "/bookings/assign", party.replace("5", "11"));
+
+        assertEquals(201, first.statusCode());
+        assertEquals("5", Json.parseObject(first.body()).get("tableId"));
+        assertEquals("6", Json.parseObject(second.body()).get("tableId"));
+        assertEquals(400, tooBig.statusCode());
+    }
+
+    @Test
+    void testShouldRejectMalformedRequests() throws Exception {
+        assertEquals(400, send("POST", "/bookings", "{\"tableId\": 1").statusCode());
+        assertEquals(400, send("POST", "/bookings", "{\"tableId\": 1, \"start\": \"tomorrow\"}").statusCode());
+        assertEquals(400, send("GET", "/bookings?limit=0", null).statusCode());
+        assertEquals(400, send("GET", "/tables/11/free-slots?date=2030-03-12", null).statusCode());
+        assertEquals(400, send("POST", "/bookings", "{\"tableId\": 1, \"start\": \"2030-03-12T18:00\", "
+                + "\"end\": \"2030-03-12T20:00\", \"customerName\": \"Eve\\r\\nX,1\"}").statusCode());
+        assertEquals(400, send("POST", "/bookings/assign", "{\"partySize\": 2, \"start\": \"2030-03-12T18:00\", "
+                + "\"end\": \"2030-03-12T20:00\", \"customerName\": \"  \"}").statusCode());
+        assertTrue(send("GET", "/bookings", null).body().startsWith("{\"bookings\":[]")); // Nothing was booked
+        assertEquals(404, send("GET", "/tables/1/menu", null).statusCode());
+        assertEquals(405, send("PUT", "/bookings", "{}").statusCode());
+    }
+
+    private static class NoPersistence implements BookingPersistence {
+        @Override
+        public List<Booking> load() {
+            return List.of();
+        }
+
+        @Override
+        public void bookingCreated(Booking booking) {
+        }
+
+        @Override
+        public void bookingCanceled(Booking booking) {
+        }
+    }
+}